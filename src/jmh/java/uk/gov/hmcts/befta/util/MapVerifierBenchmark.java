@@ -0,0 +1,118 @@
+package uk.gov.hmcts.befta.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import uk.gov.hmcts.befta.util.SyntheticResponseBody.CollectionType;
+import uk.gov.hmcts.befta.util.SyntheticResponseBody.Expectation;
+
+/**
+ * Measures verifying synthetic response bodies and headers the way the scenario
+ * player does, and matching expected values against placeholders. All bodies
+ * verify, so the cost measured is that of a passing step. Run with
+ * {@code gradle jmh -PjmhArgs="MapVerifierBenchmark -prof gc"} to report the
+ * bytes allocated per operation along with the throughput, passing further JMH
+ * options such as {@code -p depth=6 -p width=200} to scale the bodies.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MapVerifierBenchmark {
+
+    private static final String[] PLACEHOLDER_VALUES = { "[[ANYTHING_PRESENT]]", "[[ANY_STRING_NOT_NULLABLE]]",
+            "[[ANY_INTEGER_NOT_NULLABLE]]", "[[ANY_FLOATING_NULLABLE]]", "[[ANY_DATE_NOT_NULLABLE]]",
+            "[[ANY_TIMESTAMP_NOT_NULLABLE]]", "[[any_number_nullable]]", "Not a placeholder", "[[NOT_A_PLACEHOLDER]]",
+            "" };
+
+    private static final Object[] ACTUAL_VALUES = { "value", 42, 4.2, "2020-10-12", "2020-10-12T10:20:30.000",
+            12345678901L, true, null };
+
+    @State(Scope.Benchmark)
+    public static class Body {
+
+        @Param({ "1", "3" })
+        public int depth;
+
+        @Param({ "10", "100" })
+        public int width;
+
+        @Param({ "ORDERED", "UNORDERED", "SUBSET", "SUPERSET" })
+        public CollectionType collectionType;
+
+        @Param({ "LITERAL", "PLACEHOLDER" })
+        public Expectation expectation;
+
+        @Param({ "false" })
+        public boolean planned;
+
+        SyntheticResponseBody body;
+        VerificationPlan plan;
+
+        @Setup(Level.Trial)
+        public void generateBody() {
+            body = SyntheticResponseBody.generate(depth, width, collectionType, expectation);
+            plan = planned ? VerificationPlan.of(body.getExpected()) : null;
+            if (!new MapVerifier("actualResponse.body", 20).verifyMap(body.getExpected(), body.getActual())
+                    .isVerified())
+                throw new IllegalStateException("The synthetic body does not verify.");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Headers {
+
+        @Param({ "14" })
+        public int headers;
+
+        SyntheticResponseBody body;
+
+        @Setup(Level.Trial)
+        public void generateHeaders() {
+            body = SyntheticResponseBody.generateHeaders(headers);
+            if (!MapVerifier.createMapVerifier("actualResponse.headers", 1, false)
+                    .verifyMap(body.getExpected(), body.getActual()).isVerified())
+                throw new IllegalStateException("The synthetic headers do not verify.");
+        }
+    }
+
+    @Benchmark
+    public MapVerificationResult verifyBody(Body body) {
+        return MapVerifier.createMapVerifier("actualResponse.body", 20).verifyMap(body.body.getExpected(),
+                body.body.getActual(), body.plan);
+    }
+
+    @Benchmark
+    public MapVerificationResult verifyHeaders(Headers headers) {
+        return MapVerifier.createMapVerifier("actualResponse.headers", 1, false)
+                .verifyMap(headers.body.getExpected(), headers.body.getActual());
+    }
+
+    @Benchmark
+    public void matchPlaceholders(Blackhole blackhole) {
+        for (String value : PLACEHOLDER_VALUES) {
+            ExpectedValuePlaceholder placeholder = ExpectedValuePlaceholder.getByValue(value);
+            if (placeholder != null) {
+                for (Object actualValue : ACTUAL_VALUES)
+                    blackhole.consume(placeholder.accepts(actualValue));
+            } else {
+                blackhole.consume(value);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+package uk.gov.hmcts.befta.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import uk.gov.hmcts.befta.data.CollectionVerificationConfig;
+
+/**
+ * A synthetic actual response body together with an expected body it verifies
+ * against. The body nests depth objects, each of which has width scalar fields
+ * and a collection of width elements of width scalar fields each. The expected
+ * collections carry the verification config of the collection type, and the
+ * actual ones are shuffled, trimmed or extended within what it allows.
+ * <p>
+ * Bodies are generated deterministically, and the expected and actual bodies
+ * share no strings, as they would not when read from JSON.
+ */
+public class SyntheticResponseBody {
+
+    public enum CollectionType {
+        ORDERED, UNORDERED, SUBSET, SUPERSET
+    }
+
+    public enum Expectation {
+        LITERAL, PLACEHOLDER
+    }
+
+    private static final String[] HEADER_NAMES = { "Content-Type", "Content-Length", "Date", "Cache-Control",
+            "Pragma", "Expires", "X-Content-Type-Options", "X-Frame-Options", "X-XSS-Protection",
+            "Strict-Transport-Security", "Request-Context", "Vary", "Transfer-Encoding", "Connection" };
+
+    private final Map<String, Object> expected;
+    private final Map<String, Object> actual;
+
+    private SyntheticResponseBody(Map<String, Object> expected, Map<String, Object> actual) {
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    public static SyntheticResponseBody generate(int depth, int width, CollectionType collectionType,
+            Expectation expectation) {
+        Random random = new Random(depth * 31L + width);
+        Map<String, Object> expected = new LinkedHashMap<>();
+        Map<String, Object> actual = new LinkedHashMap<>();
+        Map<String, Object> expectedLevel = expected;
+        Map<String, Object> actualLevel = actual;
+        for (int level = 0; level < depth; level++) {
+            putFields(expectedLevel, actualLevel, "field" + level + "_", width, expectation, random);
+            List<Object> expectedElements = new ArrayList<>();
+            List<Object> actualElements = new ArrayList<>();
+            for (int i = 0; i < width; i++) {
+                Map<String, Object> expectedElement = new LinkedHashMap<>();
+                Map<String, Object> actualElement = new LinkedHashMap<>();
+                expectedElement.put("id", "element-" + level + "-" + i);
+                actualElement.put("id", "element-" + level + "-" + i);
+                putFields(expectedElement, actualElement, "field", width, expectation, random);
+                expectedElements.add(expectedElement);
+                actualElements.add(actualElement);
+            }
+            expectedLevel.put("elements", withConfigOf(collectionType, expectedElements));
+            actualLevel.put("elements", arrangedFor(collectionType, actualElements, random));
+            if (level < depth - 1) {
+                Map<String, Object> expectedChild = new LinkedHashMap<>();
+                Map<String, Object> actualChild = new LinkedHashMap<>();
+                expectedLevel.put("child", expectedChild);
+                actualLevel.put("child", actualChild);
+                expectedLevel = expectedChild;
+                actualLevel = actualChild;
+            }
+        }
+        return new SyntheticResponseBody(expected, actual);
+    }
+
+    /**
+     * Generates expected and actual headers, each in a case-insensitive map as
+     * they are kept in response data, under names differing in case. Half of the
+     * expected values are placeholders, and the rest differ from the actual values
+     * only in case.
+     */
+    public static SyntheticResponseBody generateHeaders(int count) {
+        Map<String, Object> expected = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Object> actual = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < count; i++) {
+            String name = HEADER_NAMES[i % HEADER_NAMES.length] + (i < HEADER_NAMES.length ? "" : "-" + i);
+            String value = "Header-Value-" + i;
+            expected.put(name, i % 2 == 0 ? "[[ANYTHING_PRESENT]]" : value.toUpperCase());
+            actual.put(name.toLowerCase(), value);
+        }
+        return new SyntheticResponseBody(expected, actual);
+    }
+
+    public Map<String, Object> getExpected() {
+        return expected;
+    }
+
+    public Map<String, Object> getActual() {
+        return actual;
+    }
+
+    private static void putFields(Map<String, Object> expected, Map<String, Object> actual, String prefix,
+            int count, Expectation expectation, Random random) {
+        for (int i = 0; i < count; i++) {
+            String field = prefix + i;
+            Object value;
+            String placeholder;
+            switch (i % 6) {
+            case 0:
+                value = "value " + random.nextInt(1000000);
+                placeholder = "[[ANY_STRING_NOT_NULLABLE]]";
+                break;
+            case 1:
+                value = random.nextInt(1000000);
+                placeholder = "[[ANY_INTEGER_NOT_NULLABLE]]";
+                break;
+            case 2:
+                value = random.nextDouble() * 1000;
+                placeholder = "[[ANY_FLOATING_NOT_NULLABLE]]";
+                break;
+            case 3:
+                value = "2020-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10);
+                placeholder = "[[ANY_DATE_NOT_NULLABLE]]";
+                break;
+            case 4:
+                value = "2020-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10) + "T10:2" + random.nextInt(10)
+                        + ":30.000";
+                placeholder = "[[ANY_TIMESTAMP_NOT_NULLABLE]]";
+                break;
+            default:
+                value = random.nextBoolean();
+                placeholder = "[[ANYTHING_PRESENT]]";
+            }
+            actual.put(field, value);
+            if (expectation == Expectation.PLACEHOLDER)
+                expected.put(field, placeholder);
+            else
+                expected.put(field, value instanceof String ? new String((String) value) : value);
+        }
+    }
+
+    private static List<Object> withConfigOf(CollectionType collectionType, List<Object> elements) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        switch (collectionType) {
+        case UNORDERED:
+            config.put(CollectionVerificationConfig.ORDERING_FIELD_NAME, "unordered");
+            config.put(CollectionVerificationConfig.ELEMENT_ID_FIELD_NAME, "id");
+            break;
+        case SUBSET:
+            config.put(CollectionVerificationConfig.OPERATOR_FIELD_NAME, "subset");
+            break;
+        case SUPERSET:
+            config.put(CollectionVerificationConfig.OPERATOR_FIELD_NAME, "superset");
+            break;
+        default:
+            return elements;
+        }
+        List<Object> configured = new ArrayList<>(elements.size() + 1);
+        configured.add(config);
+        configured.addAll(elements);
+        return configured;
+    }
+
+    private static List<Object> arrangedFor(CollectionType collectionType, List<Object> elements, Random random) {
+        switch (collectionType) {
+        case UNORDERED:
+            Collections.shuffle(elements, random);
+            return elements;
+        case SUBSET:
+            return new ArrayList<>(elements.subList(0, elements.size() - elements.size() / 4));
+        case SUPERSET:
+            List<Object> extended = new ArrayList<>(elements);
+            for (int i = 0; i < elements.size() / 4; i++) {
+                Map<String, Object> extra = new LinkedHashMap<>();
+                extra.put("id", "extra-" + i);
+                extended.add(extra);
+            }
+            return extended;
+        default:
+            return elements;
+        }
+    }
+
+}
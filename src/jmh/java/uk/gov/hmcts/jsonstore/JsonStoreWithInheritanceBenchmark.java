@@ -0,0 +1,183 @@
+package uk.gov.hmcts.jsonstore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import uk.gov.hmcts.befta.data.HttpTestData;
+import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance.InheritanceResolution;
+
+/**
+ * Measures loading a synthetic test data corpus into each kind of store, the
+ * latency of the first lookup on a freshly loaded store and the throughput of
+ * lookups on a warm store. Run with {@code gradle jmh}, passing JMH options such
+ * as {@code -PjmhArgs="-p objects=40000 -t 8"}.
+ * <p>
+ * An indexed store always resolves inheritance on demand, so set-up fails for
+ * the indexed store with eager resolution rather than measuring and reporting
+ * on-demand resolution under the wrong label.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JsonStoreWithInheritanceBenchmark {
+
+    static final String CORPUS_RESOURCE_PATH = "befta-jmh-corpus";
+
+    public enum StoreType {
+        RESOURCE, FILE, INDEXED
+    }
+
+    @State(Scope.Benchmark)
+    public static class Corpus {
+
+        @Param({ "1000" })
+        public int objects;
+
+        @Param({ "3" })
+        public int depth;
+
+        @Param({ "4" })
+        public int fanOut;
+
+        @Param({ "20" })
+        public int bodySize;
+
+        @Param({ "RESOURCE", "FILE", "INDEXED" })
+        public StoreType storeType;
+
+        @Param({ "EAGER", "ON_DEMAND" })
+        public InheritanceResolution inheritanceResolution;
+
+        TestDataCorpus corpus;
+
+        @Setup(Level.Trial)
+        public void generateCorpus() throws Exception {
+            checkSupported(storeType, inheritanceResolution);
+            corpus = TestDataCorpus.generate(getCorpusRoot(), objects, depth, fanOut, bodySize);
+        }
+
+        JsonStoreWithInheritance newStore() {
+            return createStore(corpus, storeType, inheritanceResolution);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LoadedStore {
+
+        JsonStoreWithInheritance store;
+        List<String> ids;
+
+        @Setup(Level.Invocation)
+        public void loadStore(Corpus corpus) throws Exception {
+            store = corpus.newStore();
+            store.getRootNode();
+            ids = corpus.corpus.getIds();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WarmStore {
+
+        JsonStoreWithInheritance store;
+        List<String> ids;
+
+        @Setup(Level.Trial)
+        public void warmStore(Corpus corpus) throws Exception {
+            store = corpus.newStore();
+            ids = corpus.corpus.getIds();
+            for (String id : ids)
+                store.getObjectWithId(id, HttpTestData.class);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LookupSequence {
+
+        private int next;
+
+        String nextId(List<String> ids) {
+            next = (next + 7919) % ids.size();
+            return ids.get(next);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public JsonNode load(Corpus corpus) throws Exception {
+        return corpus.newStore().getRootNode();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public HttpTestData firstLookup(Corpus corpus, LoadedStore loadedStore) throws Exception {
+        return loadedStore.store.getObjectWithId(corpus.corpus.getDeepestId(), HttpTestData.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HttpTestData lookup(WarmStore warmStore, LookupSequence sequence) throws Exception {
+        return warmStore.store.getObjectWithId(sequence.nextId(warmStore.ids), HttpTestData.class);
+    }
+
+    static JsonStoreWithInheritance createStore(TestDataCorpus corpus, StoreType storeType,
+            InheritanceResolution inheritanceResolution) {
+        JsonStoreWithInheritance store;
+        switch (storeType) {
+        case FILE:
+            store = new JsonFileStoreWithInheritance(corpus.getDirectory());
+            break;
+        case INDEXED:
+            checkSupported(storeType, inheritanceResolution);
+            return new JsonIndexedResourceStoreWithInheritance(corpus.getResourcePaths(CORPUS_RESOURCE_PATH));
+        default:
+            store = new JsonResourceStoreWithInheritance(corpus.getResourcePaths(CORPUS_RESOURCE_PATH));
+        }
+        store.setInheritanceResolution(inheritanceResolution);
+        return store;
+    }
+
+    static void checkSupported(StoreType storeType, InheritanceResolution inheritanceResolution) {
+        if (storeType == StoreType.INDEXED && inheritanceResolution != InheritanceResolution.ON_DEMAND)
+            throw new IllegalArgumentException(
+                    "An " + storeType + " store resolves inheritance " + InheritanceResolution.ON_DEMAND + " only.");
+    }
+
+    /**
+     * Returns the directory of the corpus resource path on the classpath, so that
+     * corpora generated in it can be read both as files and as resources.
+     */
+    static File getCorpusRoot() throws URISyntaxException {
+        URL marker = JsonStoreWithInheritanceBenchmark.class.getClassLoader()
+                .getResource(CORPUS_RESOURCE_PATH + "/README.md");
+        if (marker == null || !"file".equals(marker.getProtocol()))
+            throw new IllegalStateException(CORPUS_RESOURCE_PATH + " must be a directory on the classpath.");
+        return Paths.get(marker.toURI()).getParent().toFile();
+    }
+
+}
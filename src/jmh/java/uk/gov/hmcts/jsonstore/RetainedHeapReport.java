@@ -0,0 +1,61 @@
+package uk.gov.hmcts.jsonstore;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import uk.gov.hmcts.befta.data.HttpTestData;
+import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance.InheritanceResolution;
+import uk.gov.hmcts.jsonstore.JsonStoreWithInheritanceBenchmark.StoreType;
+
+/**
+ * Reports the heap retained by each kind of store for a synthetic test data
+ * corpus, once loaded and once every object in it has been looked up. Run with
+ * {@code gradle jmhRetainedHeap}, passing the corpus parameters as
+ * {@code -PjmhArgs="<objects> <depth> <fanOut> <bodySize>"}.
+ */
+public class RetainedHeapReport {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    // keeps the store being measured reachable while the heap is measured
+    private static JsonStoreWithInheritance measuredStore;
+
+    public static void main(String[] args) throws Exception {
+        int objects = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int fanOut = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int bodySize = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        TestDataCorpus corpus = TestDataCorpus.generate(JsonStoreWithInheritanceBenchmark.getCorpusRoot(), objects,
+                depth, fanOut, bodySize);
+
+        System.out.printf("%-10s %-10s %18s %18s%n", "store", "resolution", "loaded (KB)", "all looked up (KB)");
+        for (StoreType storeType : StoreType.values()) {
+            for (InheritanceResolution inheritanceResolution : InheritanceResolution.values()) {
+                if (storeType == StoreType.INDEXED && inheritanceResolution == InheritanceResolution.EAGER)
+                    continue;
+                long baseline = usedHeapAfterGc();
+                measuredStore = JsonStoreWithInheritanceBenchmark.createStore(corpus, storeType,
+                        inheritanceResolution);
+                measuredStore.getRootNode();
+                long loaded = usedHeapAfterGc() - baseline;
+                for (String id : corpus.getIds())
+                    measuredStore.getObjectWithId(id, HttpTestData.class);
+                long allLookedUp = usedHeapAfterGc() - baseline;
+                measuredStore = null;
+                System.out.printf("%-10s %-10s %18d %18d%n", storeType, inheritanceResolution, loaded / 1024,
+                        allLookedUp / 1024);
+            }
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, MEMORY.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+}
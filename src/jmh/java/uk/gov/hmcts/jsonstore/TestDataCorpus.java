@@ -0,0 +1,159 @@
+package uk.gov.hmcts.jsonstore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A synthetic test data corpus, made of one .td.json file per object in a
+ * single directory. The objects form trees through _extends_, each object
+ * having up to fanOut children and no chain of ancestors being longer than
+ * depth. Each object has bodySize fields in its request and expected response
+ * bodies, some of which its children override.
+ * <p>
+ * The corpus is generated deterministically, so a directory already holding a
+ * corpus with the same parameters is reused as it is.
+ */
+public class TestDataCorpus {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final File directory;
+    private final List<String> ids = new ArrayList<>();
+    private String deepestId;
+
+    private TestDataCorpus(File directory) {
+        this.directory = directory;
+    }
+
+    public static TestDataCorpus generate(File parentDirectory, int objects, int depth, int fanOut, int bodySize)
+            throws IOException {
+        String name = "corpus-" + objects + "-" + depth + "-" + fanOut + "-" + bodySize;
+        TestDataCorpus corpus = new TestDataCorpus(new File(parentDirectory, name));
+        boolean exists = corpus.directory.isDirectory();
+        if (!exists && !corpus.directory.mkdirs())
+            throw new IOException("Unable to create " + corpus.directory + ".");
+
+        int treeSize = treeSize(depth, fanOut);
+        int deepestLevel = -1;
+        Random random = new Random(objects);
+        for (int i = 0; i < objects; i++) {
+            int indexInTree = i % treeSize;
+            int level = levelOf(indexInTree, fanOut);
+            String id = idOf(i);
+            corpus.ids.add(id);
+            if (level > deepestLevel) {
+                deepestLevel = level;
+                corpus.deepestId = id;
+            }
+            if (!exists) {
+                String parentId = indexInTree == 0 ? null : idOf(i - indexInTree + (indexInTree - 1) / fanOut);
+                MAPPER.writeValue(new File(corpus.directory, id + ".td.json"),
+                        createObject(id, parentId, bodySize, random));
+            }
+        }
+        return corpus;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the paths of the files in the corpus as classpath resources, given
+     * the resource path of the directory the corpus was generated in.
+     */
+    public String[] getResourcePaths(String parentResourcePath) {
+        return ids.stream().map(id -> parentResourcePath + "/" + directory.getName() + "/" + id + ".td.json")
+                .toArray(String[]::new);
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public String getDeepestId() {
+        return deepestId;
+    }
+
+    private static int treeSize(int depth, int fanOut) {
+        int size = 1;
+        int levelSize = 1;
+        for (int level = 1; level <= depth && fanOut > 0; level++) {
+            levelSize *= fanOut;
+            size += levelSize;
+        }
+        return size;
+    }
+
+    private static int levelOf(int indexInTree, int fanOut) {
+        int level = 0;
+        while (indexInTree > 0) {
+            indexInTree = (indexInTree - 1) / fanOut;
+            level++;
+        }
+        return level;
+    }
+
+    private static String idOf(int index) {
+        return "Object-" + index;
+    }
+
+    private static ObjectNode createObject(String id, String parentId, int bodySize, Random random) {
+        ObjectNode object = MAPPER.createObjectNode();
+        object.put("_guid_", id);
+        if (parentId != null)
+            object.put("_extends_", parentId);
+        object.put("title", "Synthetic test data " + id);
+        object.putArray("specs").add("is generated").add("is " + id);
+        object.put("productName", "Synthetic Product");
+        object.put("operationName", "Synthetic Operation");
+        object.put("method", "POST");
+        object.put("uri", "/synthetic/{id}");
+
+        ObjectNode request = object.putObject("request");
+        request.putObject("headers").put("Content-Type", "application/json").put("Experimental", true);
+        request.putObject("pathVariables").put("id", id);
+        fillBody(request.putObject("body"), parentId == null ? bodySize : Math.min(bodySize, 3), random);
+
+        ObjectNode expectedResponse = object.putObject("expectedResponse");
+        expectedResponse.put("responseCode", 201);
+        expectedResponse.putObject("headers").put("Content-Type", "[[ANYTHING_PRESENT]]");
+        fillBody(expectedResponse.putObject("body"), parentId == null ? bodySize : Math.min(bodySize, 3), random);
+        return object;
+    }
+
+    private static void fillBody(ObjectNode body, int fields, Random random) {
+        for (int i = 0; i < fields; i++) {
+            // the kind of value is fixed by the field name, as an override of a different kind is invalid
+            int field = random.nextInt(Math.max(fields, 1) * 2);
+            String fieldName = "field" + field;
+            switch (field % 3) {
+            case 0:
+                body.put(fieldName, "value " + random.nextInt(1000));
+                break;
+            case 1:
+                body.putObject(fieldName).put("code", random.nextInt(1000)).put("label", "label " + i);
+                break;
+            default:
+                body.putArray(fieldName).add(random.nextInt(1000)).add("element " + i);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 5) {
+            System.err.println("Usage: TestDataCorpus <directory> <objects> <depth> <fanOut> <bodySize>");
+            System.exit(1);
+        }
+        TestDataCorpus corpus = generate(new File(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+                Integer.parseInt(args[3]), Integer.parseInt(args[4]));
+        System.out.println("Generated " + corpus.getIds().size() + " objects in " + corpus.getDirectory() + ".");
+    }
+
+}
@@ -3,6 +3,7 @@ package uk.gov.hmcts.befta;
 import io.cucumber.core.cli.Main;
 import uk.gov.hmcts.befta.featuretoggle.FeatureToggleService;
 import uk.gov.hmcts.befta.player.DefaultBackEndFunctionalTestScenarioPlayer;
+import uk.gov.hmcts.befta.player.ScenarioHttpClientConfig;
 import uk.gov.hmcts.befta.util.CucumberStepAnnotationUtils;
 
 public class BeftaMain {
@@ -55,6 +56,8 @@ public class BeftaMain {
     public static void setUp(TestAutomationConfig config, TestAutomationAdapter taAdapter,
             FeatureToggleService featureToggleService) {
         setConfig(config);
+        getConfig().reload();
+        ScenarioHttpClientConfig.shutDownSharedInstance();
         setTaAdapter(taAdapter);
         setFeatureToggleService(featureToggleService);
         CucumberStepAnnotationUtils.injectCommonSyntacticFlexibilitiesIntoStepDefinitions(
@@ -63,7 +66,8 @@ public class BeftaMain {
     }
 
     public static void tearDown() {
-
+        ScenarioHttpClientConfig.shutDownSharedInstance();
+        getConfig().release();
     }
 
     public static TestAutomationAdapter getAdapter() {
@@ -0,0 +1,15 @@
+package uk.gov.hmcts.befta;
+
+import uk.gov.hmcts.befta.player.BackEndFunctionalTestScenarioContext;
+
+/**
+ * Calculates a named custom value, as referred to by
+ * <code>${[scenarioContext][customValues][name]}</code> in test data, for a
+ * scenario.
+ */
+@FunctionalInterface
+public interface CustomValueResolver {
+
+    Object resolve(BackEndFunctionalTestScenarioContext scenarioContext) throws Exception;
+
+}
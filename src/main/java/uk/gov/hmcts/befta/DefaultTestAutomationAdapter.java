@@ -3,7 +3,6 @@ package uk.gov.hmcts.befta;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,7 +31,13 @@ public class DefaultTestAutomationAdapter implements TestAutomationAdapter {
 
     private final Map<String, ServiceAuthTokenGenerator> tokenGenerators = new ConcurrentHashMap<>();
 
-    private final Map<String, UserData> users = new HashMap<>();
+    private final Map<String, UserData> users = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> userLocks = new ConcurrentHashMap<>();
+
+    private final Map<String, CustomValueResolver> customValueResolvers = new ConcurrentHashMap<>();
+
+    private final Map<String, DateTimeFormatter> dateTimeFormatters = new ConcurrentHashMap<>();
 
     private BeftaTestDataLoader dataLoader;
 
@@ -43,6 +48,7 @@ public class DefaultTestAutomationAdapter implements TestAutomationAdapter {
                 BeftaMain.getConfig().getS2SClientId(), BeftaMain.getConfig().getS2SClientSecret());
         tokenGenerators.put(BeftaMain.getConfig().getS2SClientId(), defaultGenerator);
         dataLoader = buildTestDataLoader();
+        registerDefaultCustomValues();
     }
 
     @Override
@@ -51,23 +57,32 @@ public class DefaultTestAutomationAdapter implements TestAutomationAdapter {
     }
 
     @Override
-    public synchronized String getNewS2SToken(String clientId) {
+    public String getNewS2SToken(String clientId) {
         return tokenGenerators.computeIfAbsent(clientId, key -> {
             return getNewS2sClient(clientId);
         }).generate();
     }
 
+    /**
+     * Authenticates a user once per username. Users with different usernames are
+     * authenticated concurrently.
+     */
     @Override
-    public synchronized void authenticate(UserData user, String userTokenClientId) {
-        UserData cached = users.computeIfAbsent(user.getUsername(), e -> {
-            final String accessToken = getUserAccessToken(user.getUsername(), user
-                            .getPassword(),
-                    UserTokenProviderConfig.of(userTokenClientId));
-            final AuthApi.User idamUser = idamApi.getUser(accessToken);
-            user.setId(idamUser.getId());
-            user.setAccessToken(accessToken);
-            return user;
-        });
+    public void authenticate(UserData user, String userTokenClientId) {
+        UserData cached;
+        synchronized (userLocks.computeIfAbsent(user.getUsername(), username -> new Object())) {
+            cached = users.get(user.getUsername());
+            if (cached == null) {
+                final String accessToken = getUserAccessToken(user.getUsername(), user
+                                .getPassword(),
+                        UserTokenProviderConfig.of(userTokenClientId));
+                final AuthApi.User idamUser = idamApi.getUser(accessToken);
+                user.setId(idamUser.getId());
+                user.setAccessToken(accessToken);
+                users.put(user.getUsername(), user);
+                cached = user;
+            }
+        }
 
         if (user != cached) {
             user.setId(cached.getId());
@@ -121,60 +136,72 @@ public class DefaultTestAutomationAdapter implements TestAutomationAdapter {
     }
 
     @Override
-    public synchronized Object calculateCustomValue(BackEndFunctionalTestScenarioContext scenarioContext, Object key) {
+    public Object calculateCustomValue(BackEndFunctionalTestScenarioContext scenarioContext, Object key) {
         if (key == null)
             return null;
         if (key instanceof String) {
-            String keyString = ((String) key).toLowerCase().replaceAll(" ", "").replaceAll("-", "").replaceAll("_", "");
-            switch (keyString) {
-                case "request":
-                    return scenarioContext.getTestData().getRequest();
-
-                case "requestbody":
-                    return scenarioContext.getTestData().getRequest().getBody();
-
-                case "requestheaders":
-                    return scenarioContext.getTestData().getRequest().getHeaders();
-
-                case "requestpathvars":
-                    return scenarioContext.getTestData().getRequest().getPathVariables();
-
-                case "requestqueryparams":
-                    return scenarioContext.getTestData().getRequest().getQueryParams();
-
-                case "expectedresponse":
-                    return scenarioContext.getTestData().getExpectedResponse();
-
-                case "expectedresponseheaders":
-                    return scenarioContext.getTestData().getExpectedResponse().getHeaders();
-
-                case "expectedresponsebody":
-                    return scenarioContext.getTestData().getExpectedResponse().getBody();
+            CustomValueResolver resolver = customValueResolvers.get(normalizeCustomValueKey((String) key));
+            if (resolver != null)
+                return resolveCustomValue(resolver, scenarioContext);
+            String dateTimeFormat = getDateTimeFormatRequested((String) key);
+            if (dateTimeFormat != null)
+                return LocalDate.now().format(
+                        dateTimeFormatters.computeIfAbsent(dateTimeFormat, DateTimeFormatter::ofPattern));
+        }
+        return null;
+    }
 
-                case "actualresponse":
-                    return scenarioContext.getTestData().getActualResponse();
+    /**
+     * Registers a custom value under the given key, replacing any registered
+     * before under the same key. Keys are matched ignoring case, spaces, hyphens
+     * and underscores.
+     */
+    protected void registerCustomValue(String key, CustomValueResolver resolver) {
+        customValueResolvers.put(normalizeCustomValueKey(key), resolver);
+    }
 
-                case "actualresponseheaders":
-                    return scenarioContext.getTestData().getActualResponse().getHeaders();
+    private void registerDefaultCustomValues() {
+        registerCustomValue("request", context -> context.getTestData().getRequest());
+        registerCustomValue("requestBody", context -> context.getTestData().getRequest().getBody());
+        registerCustomValue("requestHeaders", context -> context.getTestData().getRequest().getHeaders());
+        registerCustomValue("requestPathVars", context -> context.getTestData().getRequest().getPathVariables());
+        registerCustomValue("requestQueryParams", context -> context.getTestData().getRequest().getQueryParams());
+        registerCustomValue("expectedResponse", context -> context.getTestData().getExpectedResponse());
+        registerCustomValue("expectedResponseHeaders",
+                context -> context.getTestData().getExpectedResponse().getHeaders());
+        registerCustomValue("expectedResponseBody", context -> context.getTestData().getExpectedResponse().getBody());
+        registerCustomValue("actualResponse", context -> context.getTestData().getActualResponse());
+        registerCustomValue("actualResponseHeaders", context -> context.getTestData().getActualResponse().getHeaders());
+        registerCustomValue("actualResponseBody", context -> context.getTestData().getActualResponse().getBody());
+        registerCustomValue("tokenValueFromAccompanyingTokenCall", context -> {
+            try {
+                String accompanyingTokenCreationDataId = context.getTestData().get_guid_() + "_Token_Creation";
+                return ReflectionUtils.deepGetFieldInObject(context, "scenarioContext.siblingContexts."
+                        + accompanyingTokenCreationDataId + ".testData.actualResponse.body.token");
+            } catch (Exception e) {
+                throw new FunctionalTestException("Failed to get custom value", e);
+            }
+        });
+    }
 
-                case "actualresponsebody":
-                    return scenarioContext.getTestData().getActualResponse().getBody();
-                case "tokenvaluefromaccompanyingtokencall":
-                    try {
-                        String accompanyingTokenCreationDataId = scenarioContext.getTestData().get_guid_()
-                                + "_Token_Creation";
-                        return ReflectionUtils.deepGetFieldInObject(scenarioContext, "scenarioContext.siblingContexts."
-                                + accompanyingTokenCreationDataId + ".testData.actualResponse.body.token");
+    private Object resolveCustomValue(CustomValueResolver resolver,
+            BackEndFunctionalTestScenarioContext scenarioContext) {
+        try {
+            return resolver.resolve(scenarioContext);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FunctionalTestException("Failed to get custom value", e);
+        }
+    }
 
-                    } catch (Exception e) {
-                        throw new FunctionalTestException("Failed to get custom value", e);
-                    }
-            }
-            String dateTimeFormat = getDateTimeFormatRequested((String) key);
-            if (dateTimeFormat != null)
-                return LocalDate.now().format(DateTimeFormatter.ofPattern(dateTimeFormat));
+    private static String normalizeCustomValueKey(String key) {
+        StringBuilder normalized = new StringBuilder(key.length());
+        for (char c : key.toLowerCase().toCharArray()) {
+            if (c != ' ' && c != '-' && c != '_')
+                normalized.append(c);
         }
-        return null;
+        return normalized.toString();
     }
 
     protected String getDateTimeFormatRequested(String key) {
@@ -1,7 +1,12 @@
 package uk.gov.hmcts.befta;
 
+import java.io.File;
+import java.util.Arrays;
+
 import uk.gov.hmcts.befta.auth.UserTokenProviderConfig;
+import uk.gov.hmcts.befta.util.ClasspathResourceIndex.Discovery;
 import uk.gov.hmcts.befta.util.EnvironmentVariableUtils;
+import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance.InheritanceResolution;
 
 public class TestAutomationConfig {
 
@@ -9,9 +14,45 @@ public class TestAutomationConfig {
 
     private static final double DEFAULT_TEST_DATA_LOAD_SKIP_PERIOD = 15.0;
 
+    private static final int DEFAULT_HTTP_MAX_CONNECTIONS_PER_HOST = 20;
+
+    private static final int DEFAULT_HTTP_MAX_CONNECTIONS = 100;
+
+    /**
+     * The settings read from a snapshot of the environment, or null while they
+     * are read from the environment on every call.
+     */
+    private volatile Settings settings = null;
+
     private TestAutomationConfig() {
     }
 
+    /**
+     * Takes a new snapshot of the environment and reads and validates all typed
+     * settings from it. Until the snapshot is released, the configuration no
+     * longer reflects changes to the environment, unless it is reloaded.
+     */
+    public synchronized void reload() {
+        EnvironmentVariableUtils.takeSnapshot();
+        UserTokenProviderConfig.clearCachedInstances();
+        try {
+            settings = new Settings();
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Releases the snapshot of the environment, so that the configuration is read
+     * from the environment on every call again.
+     */
+    public synchronized void release() {
+        settings = null;
+        UserTokenProviderConfig.clearCachedInstances();
+        EnvironmentVariableUtils.releaseSnapshot();
+    }
+
     public String getTestUrl() {
         return EnvironmentVariableUtils.getRequiredVariable("TEST_URL");
     }
@@ -53,19 +94,204 @@ public class TestAutomationConfig {
     }
 
     public ResponseHeaderCheckPolicy getResponseHeaderCheckPolicy() {
-        String setting = EnvironmentVariableUtils.getOptionalVariable("BEFTA_RESPONSE_HEADER_CHECK_POLICY");
-        return setting == null ? ResponseHeaderCheckPolicy.FAIL_TEST : ResponseHeaderCheckPolicy.valueOf(setting);
+        Settings current = settings;
+        return current != null ? current.responseHeaderCheckPolicy : readResponseHeaderCheckPolicy();
+    }
+
+    private static ResponseHeaderCheckPolicy readResponseHeaderCheckPolicy() {
+        return readEnumSetting("BEFTA_RESPONSE_HEADER_CHECK_POLICY", ResponseHeaderCheckPolicy.class,
+                ResponseHeaderCheckPolicy.FAIL_TEST);
+    }
+
+    public InheritanceResolution getTestDataInheritanceResolution() {
+        Settings current = settings;
+        return current != null ? current.testDataInheritanceResolution : readTestDataInheritanceResolution();
+    }
+
+    private static InheritanceResolution readTestDataInheritanceResolution() {
+        return readEnumSetting("BEFTA_TEST_DATA_INHERITANCE_RESOLUTION", InheritanceResolution.class,
+                InheritanceResolution.EAGER);
+    }
+
+    public static enum TestDataSourceType {
+        JSON_STORE, INDEXED_JSON_STORE
+    }
+
+    public TestDataSourceType getTestDataSourceType() {
+        Settings current = settings;
+        return current != null ? current.testDataSourceType : readTestDataSourceType();
+    }
+
+    private static TestDataSourceType readTestDataSourceType() {
+        return readEnumSetting("BEFTA_TEST_DATA_SOURCE_TYPE", TestDataSourceType.class, TestDataSourceType.JSON_STORE);
+    }
+
+    public static enum ResponseBodyParsing {
+        TEXT, STREAM
+    }
+
+    public ResponseBodyParsing getResponseBodyParsing() {
+        Settings current = settings;
+        return current != null ? current.responseBodyParsing : readResponseBodyParsing();
+    }
+
+    private static ResponseBodyParsing readResponseBodyParsing() {
+        return readEnumSetting("BEFTA_RESPONSE_BODY_PARSING", ResponseBodyParsing.class, ResponseBodyParsing.TEXT);
+    }
+
+    public Discovery getResourceDiscovery() {
+        Settings current = settings;
+        return current != null ? current.resourceDiscovery : readResourceDiscovery();
+    }
+
+    private static Discovery readResourceDiscovery() {
+        return readEnumSetting("BEFTA_RESOURCE_DISCOVERY", Discovery.class, Discovery.CLASSPATH_SCAN);
+    }
+
+    public String getTestDataSnapshotFile() {
+        return EnvironmentVariableUtils.getOptionalVariable("BEFTA_TEST_DATA_SNAPSHOT_FILE");
+    }
+
+    public File getTestDataWatchDirectory() {
+        Settings current = settings;
+        return current != null ? current.testDataWatchDirectory : readTestDataWatchDirectory();
+    }
+
+    private static File readTestDataWatchDirectory() {
+        String setting = EnvironmentVariableUtils.getOptionalVariable("BEFTA_TEST_DATA_WATCH_DIRECTORY");
+        if (setting == null)
+            return null;
+        File directory = new File(setting);
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException("Environment variable `BEFTA_TEST_DATA_WATCH_DIRECTORY` must be a "
+                    + "directory, but is `" + setting + "`.");
+        }
+        return directory;
     }
 
     public double getTestDataLoadSkipPeriod() {
+        Settings current = settings;
+        return current != null ? current.testDataLoadSkipPeriod : readTestDataLoadSkipPeriod();
+    }
+
+    private static double readTestDataLoadSkipPeriod() {
         double testDataLoadSkipPeriod = DEFAULT_TEST_DATA_LOAD_SKIP_PERIOD;
         String envVar = EnvironmentVariableUtils.getOptionalVariable("TEST_DATA_LOAD_SKIP_PERIOD");
         if (envVar != null) {
-            testDataLoadSkipPeriod = Double.parseDouble(envVar);
+            try {
+                testDataLoadSkipPeriod = Double.parseDouble(envVar);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Environment variable `TEST_DATA_LOAD_SKIP_PERIOD` must be a number"
+                        + ", but is `" + envVar + "`.", e);
+            }
         }
         return testDataLoadSkipPeriod;
     }
 
+    public int getParallelVerificationThreshold() {
+        Settings current = settings;
+        return current != null ? current.parallelVerificationThreshold : readParallelVerificationThreshold();
+    }
+
+    private static int readParallelVerificationThreshold() {
+        return readIntSetting("BEFTA_PARALLEL_VERIFICATION_THRESHOLD", 0, 0);
+    }
+
+    public int getMaxVerificationIssues() {
+        Settings current = settings;
+        return current != null ? current.maxVerificationIssues : readMaxVerificationIssues();
+    }
+
+    private static int readMaxVerificationIssues() {
+        return readIntSetting("BEFTA_MAX_VERIFICATION_ISSUES", 0, 0);
+    }
+
+    public int getHttpMaxConnectionsPerHost() {
+        Settings current = settings;
+        return current != null ? current.httpMaxConnectionsPerHost : readHttpMaxConnectionsPerHost();
+    }
+
+    private static int readHttpMaxConnectionsPerHost() {
+        return readIntSetting("BEFTA_HTTP_MAX_CONNECTIONS_PER_HOST", DEFAULT_HTTP_MAX_CONNECTIONS_PER_HOST, 1);
+    }
+
+    public int getHttpMaxConnections() {
+        Settings current = settings;
+        return current != null ? current.httpMaxConnections : readHttpMaxConnections();
+    }
+
+    private static int readHttpMaxConnections() {
+        return readIntSetting("BEFTA_HTTP_MAX_CONNECTIONS", DEFAULT_HTTP_MAX_CONNECTIONS, 1);
+    }
+
+    public int getHttpConnectTimeout() {
+        Settings current = settings;
+        return current != null ? current.httpConnectTimeout : readHttpConnectTimeout();
+    }
+
+    private static int readHttpConnectTimeout() {
+        return readIntSetting("BEFTA_HTTP_CONNECT_TIMEOUT", 0, 0);
+    }
+
+    public int getHttpReadTimeout() {
+        Settings current = settings;
+        return current != null ? current.httpReadTimeout : readHttpReadTimeout();
+    }
+
+    private static int readHttpReadTimeout() {
+        return readIntSetting("BEFTA_HTTP_READ_TIMEOUT", 0, 0);
+    }
+
+    private static int readIntSetting(String name, int defaultValue, int minValue) {
+        String setting = EnvironmentVariableUtils.getOptionalVariable(name);
+        int value = defaultValue;
+        if (setting != null) {
+            try {
+                value = Integer.parseInt(setting);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Environment variable `" + name + "` must be a whole number"
+                        + ", but is `" + setting + "`.", e);
+            }
+        }
+        if (value < minValue) {
+            throw new IllegalArgumentException(
+                    "Environment variable `" + name + "` must be at least " + minValue + ", but is `" + setting + "`.");
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> E readEnumSetting(String name, Class<E> type, E defaultValue) {
+        String setting = EnvironmentVariableUtils.getOptionalVariable(name);
+        if (setting == null)
+            return defaultValue;
+        try {
+            return Enum.valueOf(type, setting);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Environment variable `" + name + "` must be one of "
+                    + Arrays.toString(type.getEnumConstants()) + ", but is `" + setting + "`.", e);
+        }
+    }
+
+    /**
+     * The typed settings, read and validated all at once.
+     */
+    private static class Settings {
+
+        private final ResponseHeaderCheckPolicy responseHeaderCheckPolicy = readResponseHeaderCheckPolicy();
+        private final InheritanceResolution testDataInheritanceResolution = readTestDataInheritanceResolution();
+        private final TestDataSourceType testDataSourceType = readTestDataSourceType();
+        private final Discovery resourceDiscovery = readResourceDiscovery();
+        private final File testDataWatchDirectory = readTestDataWatchDirectory();
+        private final double testDataLoadSkipPeriod = readTestDataLoadSkipPeriod();
+        private final ResponseBodyParsing responseBodyParsing = readResponseBodyParsing();
+        private final int parallelVerificationThreshold = readParallelVerificationThreshold();
+        private final int maxVerificationIssues = readMaxVerificationIssues();
+        private final int httpMaxConnectionsPerHost = readHttpMaxConnectionsPerHost();
+        private final int httpMaxConnections = readHttpMaxConnections();
+        private final int httpConnectTimeout = readHttpConnectTimeout();
+        private final int httpReadTimeout = readHttpReadTimeout();
+    }
+
 }
 
 
@@ -1,6 +1,8 @@
 package uk.gov.hmcts.befta.auth;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Getter;
 import uk.gov.hmcts.befta.util.EnvironmentVariableUtils;
@@ -12,6 +14,9 @@ public class UserTokenProviderConfig {
     private static final String OIDC = "OIDC";
     private static final String OAUTH2 = "OAUTH2";
 
+    // configs of other clients, kept only while the environment is read from a snapshot
+    private static final Map<String, UserTokenProviderConfig> CACHED_INSTANCES = new ConcurrentHashMap<>();
+
     private final String clientId;
     private final String clientSecret;
     private final String redirectUri;
@@ -45,7 +50,13 @@ public class UserTokenProviderConfig {
     	Objects.requireNonNull(tokenProviderClientId);
         if (tokenProviderClientId.equals(DEFAULT_INSTANCE.getClientId()))
             return DEFAULT_INSTANCE;
-        return new UserTokenProviderConfig(tokenProviderClientId);
+        if (!EnvironmentVariableUtils.isSnapshotTaken())
+            return new UserTokenProviderConfig(tokenProviderClientId);
+        return CACHED_INSTANCES.computeIfAbsent(tokenProviderClientId, UserTokenProviderConfig::new);
+    }
+
+    public static void clearCachedInstances() {
+        CACHED_INSTANCES.clear();
     }
 
     public boolean isForOidc() {
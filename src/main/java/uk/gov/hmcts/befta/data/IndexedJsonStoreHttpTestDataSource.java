@@ -0,0 +1,22 @@
+package uk.gov.hmcts.befta.data;
+
+import uk.gov.hmcts.befta.factory.JsonStoreFactory;
+import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance;
+
+/**
+ * A test data source which indexes the test data resources on first use and
+ * only parses the test data objects that are looked up, together with the
+ * objects they inherit from.
+ */
+public class IndexedJsonStoreHttpTestDataSource extends JsonStoreHttpTestDataSource {
+
+    public IndexedJsonStoreHttpTestDataSource(String[] resourcePackages) {
+        super(resourcePackages);
+    }
+
+    @Override
+    protected JsonStoreWithInheritance createJsonStore(String[] resourcePaths) {
+        return JsonStoreFactory.createJsonStoreWithInheritance(JsonStoreFactory.INDEXED_STR, resourcePaths);
+    }
+
+}
@@ -3,11 +3,15 @@ package uk.gov.hmcts.befta.data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.reflect.ClassPath;
-
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 
+import uk.gov.hmcts.befta.BeftaMain;
+import uk.gov.hmcts.befta.exception.JsonStoreCreationException;
 import uk.gov.hmcts.befta.factory.JsonStoreFactory;
+import uk.gov.hmcts.befta.util.ClasspathResourceIndex;
+import uk.gov.hmcts.jsonstore.JsonFileStoreWithInheritance;
 import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance;
 
 public class JsonStoreHttpTestDataSource implements HttpTestDataSource {
@@ -16,18 +20,17 @@ public class JsonStoreHttpTestDataSource implements HttpTestDataSource {
 
     private ArrayList<String> resourcePaths = new ArrayList<>();
 
-    private JsonStoreWithInheritance jsonStore = null;
+    private volatile JsonStoreWithInheritance jsonStore = null;
 
     public JsonStoreHttpTestDataSource(String[] resourcePackages) {
         long start = System.currentTimeMillis();
         try {
-            ClassPath cp = ClassPath.from(Thread.currentThread().getContextClassLoader());
             for (String resourcePackage : resourcePackages) {
                 String prefix = resourcePackage + "/";
-                for (ClassPath.ResourceInfo info : cp.getResources()) {
-                    if (info.getResourceName().startsWith(prefix)
-                            && info.getResourceName().endsWith(".td.json")) {
-                        resourcePaths.add(info.getResourceName());
+                for (String resourceName : ClasspathResourceIndex
+                        .getResourceNames(BeftaMain.getConfig().getResourceDiscovery())) {
+                    if (resourceName.startsWith(prefix) && resourceName.endsWith(".td.json")) {
+                        resourcePaths.add(resourceName);
                     }
                 }
             }
@@ -41,15 +44,10 @@ public class JsonStoreHttpTestDataSource implements HttpTestDataSource {
     }
 
     @Override
-    public synchronized HttpTestData getDataForTestCall(String testDataId) {
+    public HttpTestData getDataForTestCall(String testDataId) {
         long start = System.currentTimeMillis();
-        String jsonStoreOption="Resource";
-        if (jsonStore == null) {
-            jsonStore = JsonStoreFactory.createJsonStoreWithInheritance(jsonStoreOption,
-                    resourcePaths.toArray(new String[0]));
-        }
         try {
-            return jsonStore.getObjectWithId(testDataId, HttpTestData.class);
+            return getJsonStore().getObjectWithId(testDataId, HttpTestData.class);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -60,4 +58,41 @@ public class JsonStoreHttpTestDataSource implements HttpTestDataSource {
         }
     }
 
+    private JsonStoreWithInheritance getJsonStore() {
+        JsonStoreWithInheritance store = jsonStore;
+        if (store == null) {
+            synchronized (this) {
+                store = jsonStore;
+                if (store == null) {
+                    store = createJsonStore(resourcePaths.toArray(new String[0]));
+                    jsonStore = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    protected JsonStoreWithInheritance createJsonStore(String[] resourcePaths) {
+        File watchDirectory = BeftaMain.getConfig().getTestDataWatchDirectory();
+        JsonStoreWithInheritance jsonStore = watchDirectory != null ? createWatchingJsonStore(watchDirectory)
+                : JsonStoreFactory.createJsonStoreWithInheritance("Resource", resourcePaths);
+        jsonStore.setInheritanceResolution(BeftaMain.getConfig().getTestDataInheritanceResolution());
+        String snapshotFile = BeftaMain.getConfig().getTestDataSnapshotFile();
+        if (snapshotFile != null) {
+            jsonStore.setSnapshotFile(new File(snapshotFile));
+        }
+        return jsonStore;
+    }
+
+    private JsonStoreWithInheritance createWatchingJsonStore(File watchDirectory) {
+        JsonFileStoreWithInheritance jsonStore = new JsonFileStoreWithInheritance(watchDirectory);
+        try {
+            jsonStore.startWatching();
+        } catch (IOException e) {
+            throw new JsonStoreCreationException("Unable to watch test data directory " + watchDirectory + ".", e);
+        }
+        logger.info("Watching {} for changes in test data.", watchDirectory);
+        return jsonStore;
+    }
+
 }
@@ -26,10 +26,10 @@ public class RequestData {
 
     @SuppressWarnings("unchecked")
     public RequestData(RequestData other) {
-        setHeaders((Map<String, Object>) JsonUtils.deepCopy(other.getHeaders()));
-        setPathVariables((Map<String, Object>) JsonUtils.deepCopy(other.getPathVariables()));
-        setQueryParams((Map<String, Object>) JsonUtils.deepCopy(other.getQueryParams()));
-        setBody((Map<String, Object>) JsonUtils.deepCopy(other.getBody()));
+        setHeaders((Map<String, Object>) JsonUtils.deepCopyOfTree(other.getHeaders()));
+        setPathVariables((Map<String, Object>) JsonUtils.deepCopyOfTree(other.getPathVariables()));
+        setQueryParams((Map<String, Object>) JsonUtils.deepCopyOfTree(other.getQueryParams()));
+        setBody((Map<String, Object>) JsonUtils.deepCopyOfTree(other.getBody()));
     }
 
 }
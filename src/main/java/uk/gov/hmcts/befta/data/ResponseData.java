@@ -34,7 +34,7 @@ public class ResponseData {
     public ResponseData(ResponseData other) {
         setResponseCode(other.getResponseCode());
         setResponseMessage(other.getResponseMessage());
-        setHeaders((Map<String, Object>) JsonUtils.deepCopy(other.getHeaders()));
-        setBody((Map<String, Object>) JsonUtils.deepCopy(other.getBody()));
+        setHeaders((Map<String, Object>) JsonUtils.deepCopyOfTree(other.getHeaders()));
+        setBody((Map<String, Object>) JsonUtils.deepCopyOfTree(other.getBody()));
     }
 }
@@ -3,8 +3,6 @@ package uk.gov.hmcts.befta.dse.ccd;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.reflect.ClassPath;
-
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -26,6 +24,7 @@ import uk.gov.hmcts.befta.data.UserData;
 import uk.gov.hmcts.befta.dse.ccd.definition.converter.JsonTransformer;
 import uk.gov.hmcts.befta.exception.FunctionalTestException;
 import uk.gov.hmcts.befta.util.BeftaUtils;
+import uk.gov.hmcts.befta.util.ClasspathResourceIndex;
 import uk.gov.hmcts.befta.util.FileUtils;
 
 public class TestDataLoaderToDefinitionStore {
@@ -142,13 +141,13 @@ public class TestDataLoaderToDefinitionStore {
             boolean convertJsonFilesToExcel = false;
             Set<String> definitionJsonResourcesToTransform = new HashSet<>();
             List<String> definitionFileResources = new ArrayList<String>();
-            ClassPath cp = ClassPath.from(Thread.currentThread().getContextClassLoader());
-            for (ClassPath.ResourceInfo info : cp.getResources()) {
-                if (isAnExcelFileToImport(info.getResourceName())) {
-                    definitionFileResources.add(info.getResourceName());
-                } else if (isUnderAJsonDefinitionPackage(info.getResourceName())) {
+            for (String resourceName : ClasspathResourceIndex
+                    .getResourceNames(BeftaMain.getConfig().getResourceDiscovery())) {
+                if (isAnExcelFileToImport(resourceName)) {
+                    definitionFileResources.add(resourceName);
+                } else if (isUnderAJsonDefinitionPackage(resourceName)) {
                     convertJsonFilesToExcel = true;
-                    File jsonFile = BeftaUtils.createJsonDefinitionFileFromClasspath(info.getResourceName());
+                    File jsonFile = BeftaUtils.createJsonDefinitionFileFromClasspath(resourceName);
                     String jsonDefinitionParentFolder = jsonFile.getParentFile().getParentFile().getPath();
                     definitionJsonResourcesToTransform.add(jsonDefinitionParentFolder);
                 }
@@ -22,4 +22,10 @@ public class DynamicValueInjectorFactory {
 		return new DynamicValueInjector(taAdapter, testData, scenarioContext);
 	}
 
+	public static DynamicValueInjector create(TestAutomationAdapter taAdapter, HttpTestData testData,
+            HttpTestData template, BackEndFunctionalTestScenarioContext scenarioContext) {
+
+		return new DynamicValueInjector(taAdapter, testData, template, scenarioContext);
+	}
+
 }
@@ -1,6 +1,9 @@
 package uk.gov.hmcts.befta.factory;
 
+import uk.gov.hmcts.befta.BeftaMain;
+import uk.gov.hmcts.befta.TestAutomationConfig.TestDataSourceType;
 import uk.gov.hmcts.befta.data.HttpTestDataSource;
+import uk.gov.hmcts.befta.data.IndexedJsonStoreHttpTestDataSource;
 import uk.gov.hmcts.befta.data.JsonStoreHttpTestDataSource;
 
 public class HttpTestDataSourceFactory {
@@ -9,6 +12,8 @@ public class HttpTestDataSourceFactory {
     }
 
     public static HttpTestDataSource createHttpTestDataSource(String[] resourcePackages) {
+        if (BeftaMain.getConfig().getTestDataSourceType() == TestDataSourceType.INDEXED_JSON_STORE)
+            return new IndexedJsonStoreHttpTestDataSource(resourcePackages);
         return new JsonStoreHttpTestDataSource(resourcePackages);
     }
 
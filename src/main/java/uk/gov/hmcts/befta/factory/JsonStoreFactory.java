@@ -7,6 +7,7 @@ import java.io.File;
 
 import uk.gov.hmcts.befta.util.BeftaUtils;
 import uk.gov.hmcts.jsonstore.JsonFileStoreWithInheritance;
+import uk.gov.hmcts.jsonstore.JsonIndexedResourceStoreWithInheritance;
 import uk.gov.hmcts.jsonstore.JsonResourceStoreWithInheritance;
 import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance;
 
@@ -17,6 +18,7 @@ import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance;
 public class JsonStoreFactory {
 
     public static final String FILE_STR = "FILE";
+    public static final String INDEXED_STR = "INDEXED";
 
     private JsonStoreFactory() {
     }
@@ -26,6 +28,8 @@ public class JsonStoreFactory {
         if (FILE_STR.equalsIgnoreCase(jsonStoreOption)) {
             File location = BeftaUtils.getSingleFileFromResource(resourcePaths);
             return new JsonFileStoreWithInheritance(location, idFieldName, inheritanceFieldName);
+        } else if (INDEXED_STR.equalsIgnoreCase(jsonStoreOption)) {
+            return new JsonIndexedResourceStoreWithInheritance(resourcePaths, idFieldName, inheritanceFieldName);
         } else {
             return new JsonResourceStoreWithInheritance(resourcePaths, idFieldName, inheritanceFieldName);
         }
@@ -36,6 +40,8 @@ public class JsonStoreFactory {
         if (FILE_STR.equalsIgnoreCase(jsonStoreOption)) {
             File location = BeftaUtils.getSingleFileFromResource(resourcePaths);
             return new JsonFileStoreWithInheritance(location);
+        } else if (INDEXED_STR.equalsIgnoreCase(jsonStoreOption)) {
+            return new JsonIndexedResourceStoreWithInheritance(resourcePaths);
         } else {
             return new JsonResourceStoreWithInheritance(resourcePaths);
         }
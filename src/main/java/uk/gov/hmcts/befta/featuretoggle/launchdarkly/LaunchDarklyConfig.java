@@ -2,6 +2,8 @@ package uk.gov.hmcts.befta.featuretoggle.launchdarkly;
 
 import com.launchdarkly.sdk.server.LDClient;
 
+import uk.gov.hmcts.befta.util.EnvironmentVariableUtils;
+
 public class LaunchDarklyConfig {
 
     public static final String LD_SDK_KEY = "LD_SDK_KEY";
@@ -15,18 +17,19 @@ public class LaunchDarklyConfig {
 
     public synchronized static LDClient getLdInstance() {
         if (ldClient == null) {
-            if (ldClient == null && System.getenv(LD_SDK_KEY) != null) {
-                ldClient = new LDClient(System.getenv(LD_SDK_KEY));
+            String sdkKey = EnvironmentVariableUtils.getOptionalVariable(LD_SDK_KEY);
+            if (ldClient == null && sdkKey != null) {
+                ldClient = new LDClient(sdkKey);
             }
         }
         return ldClient;
     }
 
     public static String getEnvironmentName() {
-        return System.getenv(LAUNCH_DARKLY_ENV);
+        return EnvironmentVariableUtils.getOptionalVariable(LAUNCH_DARKLY_ENV);
     }
 
     public static String getLDMicroserviceName() {
-        return System.getenv(MICROSERVICE_NAME);
+        return EnvironmentVariableUtils.getOptionalVariable(MICROSERVICE_NAME);
     }
 }
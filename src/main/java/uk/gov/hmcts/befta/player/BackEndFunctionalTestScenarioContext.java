@@ -28,6 +28,8 @@ public class BackEndFunctionalTestScenarioContext {
 
     protected HttpTestData testData;
 
+    private ResponseData expectedResponseTemplate;
+
     private RequestSpecification theRequest;
 
     private ResponseData theResponse;
@@ -66,7 +68,8 @@ public class BackEndFunctionalTestScenarioContext {
             throw new FunctionalTestException("No test data found with ID [" + testDataId + "].");
         }
         testData = new HttpTestData(original);
-        dynamicValueInjector = DynamicValueInjectorFactory.create(BeftaMain.getAdapter(), testData, this);
+        expectedResponseTemplate = original.getExpectedResponse();
+        dynamicValueInjector = DynamicValueInjectorFactory.create(BeftaMain.getAdapter(), testData, original, this);
     }
 
 
@@ -132,6 +135,15 @@ public class BackEndFunctionalTestScenarioContext {
         return testData;
     }
 
+    /**
+     * Returns the expected response of the test data as it is loaded, before any
+     * dynamic value is injected into the copy of it in the test data, or null if
+     * the test data has not been loaded by this context.
+     */
+    public synchronized ResponseData getExpectedResponseTemplate() {
+        return expectedResponseTemplate;
+    }
+
     public synchronized RequestSpecification getTheRequest() {
         return theRequest;
     }
@@ -14,6 +14,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.DecimalFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -33,6 +34,7 @@ import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.SpecificationQuerier;
 import uk.gov.hmcts.befta.BeftaMain;
 import uk.gov.hmcts.befta.TestAutomationConfig;
+import uk.gov.hmcts.befta.TestAutomationConfig.ResponseBodyParsing;
 import uk.gov.hmcts.befta.TestAutomationConfig.ResponseHeaderCheckPolicy;
 import uk.gov.hmcts.befta.data.FileInBody;
 import uk.gov.hmcts.befta.data.HttpTestData;
@@ -52,6 +54,7 @@ import uk.gov.hmcts.befta.util.EnvironmentVariableUtils;
 import uk.gov.hmcts.befta.util.JsonUtils;
 import uk.gov.hmcts.befta.util.MapVerificationResult;
 import uk.gov.hmcts.befta.util.MapVerifier;
+import uk.gov.hmcts.befta.util.VerificationPlan;
 
 public class DefaultBackEndFunctionalTestScenarioPlayer implements BackEndFunctionalTestAutomationDSL {
 
@@ -64,7 +67,6 @@ public class DefaultBackEndFunctionalTestScenarioPlayer implements BackEndFuncti
     private ObjectMapper mapper = new ObjectMapper();
 
     public DefaultBackEndFunctionalTestScenarioPlayer() {
-        RestAssured.useRelaxedHTTPSValidation();
         scenarioContext = BeftaScenarioContextFactory.createBeftaScenarioContext();
     }
 
@@ -251,6 +253,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayer implements BackEndFuncti
 
     private RequestSpecification buildRestAssuredRequestWith(HttpTestData testData) throws IOException {
         RequestSpecification aRequest = RestAssured.given();
+        aRequest.config(ScenarioHttpClientConfig.getSharedInstance().applyTo(RestAssured.config));
 
         try {
             Method.valueOf(testData.getMethod().toUpperCase());
@@ -356,6 +359,10 @@ public class DefaultBackEndFunctionalTestScenarioPlayer implements BackEndFuncti
         }
 
         Response response = theRequest.request(testData.getMethod(), uri);
+        if (logger.isDebugEnabled()) {
+            logger.debug("HTTP connection pool after the call: {}",
+                    ScenarioHttpClientConfig.getSharedInstance().getTotalStats());
+        }
 
         ResponseData responseData = convertRestAssuredResponseToBeftaResponse(scenarioContext, response);
         scenarioContext.getTestData().setActualResponse(responseData);
@@ -376,10 +383,12 @@ public class DefaultBackEndFunctionalTestScenarioPlayer implements BackEndFuncti
         responseData.setResponseMessage(reasonPhrase);
         responseData.setHeaders(responseHeaders);
 
-        String jsonForBody;
+        String jsonForBody = null;
         Map<String, Object> wrappedInMap = null;
         if (shouldTreatBodyAsAFile(scenarioContext.getTestData().getExpectedResponse())) {
             jsonForBody = getFileInMapJson(response);
+        } else if (shouldStreamBody(response)) {
+            wrappedInMap = readMapForBodyFromStream(response);
         } else {
             jsonForBody = response.getBody() == null ? null : response.getBody().asString();
             if (jsonForBody != null && !jsonForBody.isEmpty()) {
@@ -407,6 +416,31 @@ public class DefaultBackEndFunctionalTestScenarioPlayer implements BackEndFuncti
         }
     }
 
+    private boolean shouldStreamBody(Response response) {
+        return BeftaMain.getConfig().getResponseBodyParsing() == ResponseBodyParsing.STREAM
+                && response.getBody() != null && isResponseJson(null, response.getContentType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readMapForBodyFromStream(Response response) {
+        Object body;
+        try {
+            body = JsonUtils.readObjectFromJsonStream(response.getBody().asInputStream());
+        } catch (Exception e) {
+            scenario.log("Can't convert the body to JSON: " + e.getMessage());
+            throw new FunctionalTestException("Can't convert the body to JSON.", e);
+        }
+        if (body == null || body instanceof Map) {
+            return (Map<String, Object>) body;
+        } else if (body instanceof List) {
+            Map<String, Object> wrapperMap = new LinkedHashMap<>();
+            wrapperMap.put("arrayInMap", body);
+            return wrapperMap;
+        }
+        scenario.log("Can't convert the body to JSON: \n" + body);
+        throw new FunctionalTestException("Can't convert the body to JSON.");
+    }
+
     private boolean shouldTreatBodyAsAFile(ResponseData expectedResponse) {
         return expectedResponse.getBody() != null && expectedResponse.getBody().containsKey("__fileInBody__");
     }
@@ -494,6 +528,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayer implements BackEndFuncti
     private void verifyThatTheResponseHasAllTheDetailsAsExpected(BackEndFunctionalTestScenarioContext scenarioContext)
             throws IOException {
         ResponseData expectedResponse = scenarioContext.getTestData().getExpectedResponse();
+        ResponseData expectedResponseTemplate = scenarioContext.getExpectedResponseTemplate();
         ResponseData actualResponse = scenarioContext.getTheResponse();
 
         List<String> issuesInResponseHeaders = null, issuesInResponseBody = null;
@@ -505,13 +540,20 @@ public class DefaultBackEndFunctionalTestScenarioPlayer implements BackEndFuncti
         }
 
         MapVerificationResult headerVerification = MapVerifier.createMapVerifier("actualResponse.headers", 1, false)
-                .verifyMap(expectedResponse.getHeaders(), actualResponse.getHeaders());
+                .verifyMap(expectedResponse.getHeaders(), actualResponse.getHeaders(),
+                        expectedResponseTemplate == null ? null
+                                : VerificationPlan.of(expectedResponseTemplate.getHeaders()));
         if (!headerVerification.isVerified()) {
             issuesInResponseHeaders = headerVerification.getAllIssues();
         }
 
-        MapVerificationResult bodyVerification = MapVerifier.createMapVerifier("actualResponse.body", 20)
-                .verifyMap(expectedResponse.getBody(), actualResponse.getBody());
+        MapVerifier bodyVerifier = MapVerifier.createMapVerifier("actualResponse.body", 20);
+        bodyVerifier.setParallelThreshold(BeftaMain.getConfig().getParallelVerificationThreshold());
+        bodyVerifier.setMaxIssues(BeftaMain.getConfig().getMaxVerificationIssues());
+        MapVerificationResult bodyVerification = bodyVerifier
+                .verifyMap(expectedResponse.getBody(), actualResponse.getBody(),
+                        expectedResponseTemplate == null ? null
+                                : VerificationPlan.of(expectedResponseTemplate.getBody()));
         if (!bodyVerification.isVerified()) {
             issuesInResponseBody = bodyVerification.getAllIssues();
         }
@@ -0,0 +1,103 @@
+package uk.gov.hmcts.befta.player;
+
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.impl.client.SystemDefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.pool.PoolStats;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import uk.gov.hmcts.befta.BeftaMain;
+import uk.gov.hmcts.befta.TestAutomationConfig;
+
+/**
+ * The HTTP client configuration of the requests sent by the scenario player,
+ * which accept any HTTPS certificate. The requests share a pool of keep-alive
+ * connections per host, so that the calls of a scenario and its prerequisites
+ * to the same host reuse connections rather than each opening, and
+ * handshaking TLS on, a new one.
+ * <p>
+ * Each thread sends its requests through an HTTP client of its own over the
+ * shared pool, as Rest Assured sets the parameters of a client on every request
+ * it sends through it.
+ */
+@SuppressWarnings("deprecation")
+public class ScenarioHttpClientConfig {
+
+    private static ScenarioHttpClientConfig sharedInstance;
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final ThreadLocal<HttpClientConfig> httpClientConfigs = ThreadLocal.withInitial(this::newHttpClientConfig);
+
+    ScenarioHttpClientConfig(int maxConnectionsPerHost, int maxConnections, int connectTimeout, int readTimeout) {
+        this.connectionManager = new PoolingClientConnectionManager(SchemeRegistryFactory.createSystemDefault());
+        this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+        this.connectionManager.setMaxTotal(maxConnections);
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Returns the configuration shared by all scenarios of the run, created from
+     * the test automation config on the first call after set up.
+     */
+    public static synchronized ScenarioHttpClientConfig getSharedInstance() {
+        if (sharedInstance == null) {
+            TestAutomationConfig config = BeftaMain.getConfig();
+            sharedInstance = new ScenarioHttpClientConfig(config.getHttpMaxConnectionsPerHost(),
+                    config.getHttpMaxConnections(), config.getHttpConnectTimeout(), config.getHttpReadTimeout());
+        }
+        return sharedInstance;
+    }
+
+    /**
+     * Closes the connections of the shared configuration, if any, so that the
+     * next call to {@link #getSharedInstance()} creates it again from the test
+     * automation config.
+     */
+    public static synchronized void shutDownSharedInstance() {
+        if (sharedInstance != null) {
+            sharedInstance.connectionManager.shutdown();
+            sharedInstance = null;
+        }
+    }
+
+    /**
+     * Returns the given Rest Assured configuration with the HTTP client of the
+     * current thread and relaxed HTTPS validation configured in it.
+     */
+    public RestAssuredConfig applyTo(RestAssuredConfig config) {
+        return config.httpClient(httpClientConfigs.get())
+                .sslConfig(config.getSSLConfig().relaxedHTTPSValidation());
+    }
+
+    /**
+     * Returns the numbers of connections leased, pending, available and allowed
+     * in the pool across all hosts.
+     */
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    private HttpClientConfig newHttpClientConfig() {
+        return HttpClientConfig.httpClientConfig().reuseHttpClientInstance().httpClientFactory(this::newHttpClient);
+    }
+
+    private AbstractHttpClient newHttpClient() {
+        AbstractHttpClient httpClient = new SystemDefaultHttpClient() {
+            @Override
+            protected ClientConnectionManager createClientConnectionManager() {
+                return connectionManager;
+            }
+        };
+        HttpConnectionParams.setConnectionTimeout(httpClient.getParams(), connectTimeout);
+        HttpConnectionParams.setSoTimeout(httpClient.getParams(), readTimeout);
+        return httpClient;
+    }
+
+}
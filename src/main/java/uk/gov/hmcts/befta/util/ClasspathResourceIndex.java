@@ -0,0 +1,97 @@
+package uk.gov.hmcts.befta.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import com.google.common.reflect.ClassPath;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The names of the test data and definition resources (.json and .xlsx) on the
+ * classpath, looked up once per JVM and shared by everything that needs them.
+ * <p>
+ * The classpath is scanned for the resources, unless they are to be read from
+ * the resource index files on the classpath, which the build generates when
+ * run with -PbeftaResourceIndex. Only the resources listed in index files are
+ * then found, so every classpath entry contributing resources must have one.
+ */
+public class ClasspathResourceIndex {
+
+    public static final String RESOURCE_INDEX_FILE = "META-INF/befta/resource-index.txt";
+
+    private static final Logger logger = LoggerFactory.getLogger(ClasspathResourceIndex.class);
+
+    public static enum Discovery {
+        CLASSPATH_SCAN, INDEX_FILES
+    }
+
+    private static final Map<Discovery, List<String>> resourceNames = new EnumMap<>(Discovery.class);
+
+    private ClasspathResourceIndex() {
+    }
+
+    public static synchronized List<String> getResourceNames(Discovery discovery) {
+        return resourceNames.computeIfAbsent(discovery,
+                d -> loadResourceNames(Thread.currentThread().getContextClassLoader(), d));
+    }
+
+    static boolean isIndexed(String resourceName) {
+        String lowerCaseName = resourceName.toLowerCase();
+        return lowerCaseName.endsWith(".json") || lowerCaseName.endsWith(".xlsx");
+    }
+
+    static List<String> loadResourceNames(ClassLoader classLoader, Discovery discovery) {
+        long start = System.currentTimeMillis();
+        try {
+            List<String> names = null;
+            String source = "resource index files";
+            if (discovery == Discovery.INDEX_FILES) {
+                names = readIndexFiles(classLoader);
+                if (names == null) {
+                    logger.warn("No {} found on the classpath, so it is scanned for resources instead.",
+                            RESOURCE_INDEX_FILE);
+                }
+            }
+            if (names == null) {
+                names = scanClassPath(classLoader);
+                source = "a classpath scan";
+            }
+            double seconds = (System.currentTimeMillis() - start) / 1000.0;
+            logger.info("Found {} test data and definition resources from {} in {} seconds.", names.size(), source,
+                    seconds);
+            return names;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<String> readIndexFiles(ClassLoader classLoader) throws IOException {
+        Enumeration<URL> indexFiles = classLoader.getResources(RESOURCE_INDEX_FILE);
+        if (!indexFiles.hasMoreElements())
+            return null;
+        TreeSet<String> names = new TreeSet<>();
+        while (indexFiles.hasMoreElements()) {
+            for (String line : Resources.readLines(indexFiles.nextElement(), StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty())
+                    names.add(line.trim());
+            }
+        }
+        return ImmutableList.copyOf(names);
+    }
+
+    private static List<String> scanClassPath(ClassLoader classLoader) throws IOException {
+        return ClassPath.from(classLoader).getResources().stream().map(ClassPath.ResourceInfo::getResourceName)
+                .filter(ClasspathResourceIndex::isIndexed).collect(ImmutableList.toImmutableList());
+    }
+
+}
@@ -1,5 +1,8 @@
 package uk.gov.hmcts.befta.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -11,6 +14,7 @@ import java.util.stream.StreamSupport;
 import uk.gov.hmcts.befta.TestAutomationAdapter;
 import uk.gov.hmcts.befta.data.HttpTestData;
 import uk.gov.hmcts.befta.data.RequestData;
+import uk.gov.hmcts.befta.data.ResponseData;
 import uk.gov.hmcts.befta.data.UserData;
 import uk.gov.hmcts.befta.exception.FunctionalTestException;
 import uk.gov.hmcts.befta.player.BackEndFunctionalTestScenarioContext;
@@ -19,17 +23,35 @@ public class DynamicValueInjector {
 
     private static final String DEFAULT_AUTO_VALUE = "[[DEFAULT_AUTO_VALUE]]";
 
-    private static final String EMPTY_STRING_MARKER = "EMPTY_STRING";
+    /**
+     * The bodies of loaded test data found to have no dynamic content, by
+     * identity, for as long as the test data is loaded.
+     */
+    private static final Cache<Map<String, Object>, Boolean> PARTS_WITHOUT_DYNAMIC_CONTENT = CacheBuilder
+            .newBuilder().weakKeys().build();
 
     private final TestAutomationAdapter taAdapter;
 
     private BackEndFunctionalTestScenarioContext scenarioContext;
     private HttpTestData testData;
+    private HttpTestData template;
 
     public DynamicValueInjector(TestAutomationAdapter taAdapter, HttpTestData testData,
             BackEndFunctionalTestScenarioContext scenarioContext) {
+        this(taAdapter, testData, null, scenarioContext);
+    }
+
+    /**
+     * Creates an injector into a copy of loaded test data, which skips the
+     * request and expected response bodies of the copy when those of the loaded
+     * test data have been found to have no dynamic content. The loaded test data
+     * must not be changed once it is copied.
+     */
+    public DynamicValueInjector(TestAutomationAdapter taAdapter, HttpTestData testData, HttpTestData template,
+            BackEndFunctionalTestScenarioContext scenarioContext) {
         this.scenarioContext = scenarioContext;
         this.testData = testData;
+        this.template = template;
         this.taAdapter = taAdapter;
     }
 
@@ -61,11 +83,15 @@ public class DynamicValueInjector {
             queryParams.forEach(
                     (key, value) -> queryParams.put(key, getDynamicValueFor("request.queryParams", key, value)));
         }
-        injectDynamicValuesInto("request.body", requestData.getBody());
+        RequestData requestTemplate = template == null ? null : template.getRequest();
+        injectDynamicValuesIntoPart("request.body", requestData.getBody(),
+                requestTemplate == null ? null : requestTemplate.getBody());
     }
 
     private void injectValuesDetailsFromContextAfterApiCall() {
-        injectDynamicValuesInto("expectedResponse.body", testData.getExpectedResponse().getBody());
+        ResponseData expectedResponseTemplate = template == null ? null : template.getExpectedResponse();
+        injectDynamicValuesIntoPart("expectedResponse.body", testData.getExpectedResponse().getBody(),
+                expectedResponseTemplate == null ? null : expectedResponseTemplate.getBody());
     }
 
     private Object getDynamicValueFor(String path, String key, Object value) {
@@ -96,147 +122,137 @@ public class DynamicValueInjector {
     private Object processDynamicValuesIn(String input) {
         if (input == null || input.equals(""))
             return input;
-        StringBuffer output = new StringBuffer();
-        Object outputAsNumber = null;
-        boolean outputIsString = false;
-        int pos = 0, jumpTo;
-        Object partValue = null;
-        while (pos < input.length()) {
-            partValue = null;
-            jumpTo = -1;
-            if (aFormulaIsStartingAt(input, pos)) {
-                int closingAt = input.indexOf("}", pos + 2);
-                if (closingAt < 0) {
-                    throw new RuntimeException(
-                            "'${' is not matched with a '}' for " + input + " at position: " + pos + ".");
-                }
-                String formulaPart = input.substring(pos, closingAt + 1);
-                partValue = calculateFormulaFromContext(scenarioContext, formulaPart);
-                jumpTo = closingAt + 1;
-
-                // special case when complete input is a dynamic formula
-                // : so check if it returned a complex object to return
-                if (pos == 0 && jumpTo >= input.length()) {
-                    return partValue;
-                }
-            } else if (anEnvVarIsStartingAt(input, pos)) {
-                int closingAt = input.indexOf("}}", pos + 2);
-                if (closingAt < 0) {
-                    throw new FunctionalTestException(
-                            "'{{' is not matched with a '}}' for " + input + " at position: " + pos + ".");
-                }
-                String envVarName = input.substring(pos + 2, closingAt);
-                partValue = EnvironmentVariableUtils.getRequiredVariable(envVarName);
-                jumpTo = closingAt + 2;
-            }
-            if (jumpTo > 0) {
-                pos = jumpTo;
-                if (partValue instanceof Number) {
-                    outputAsNumber = partValue;
-                } else {
-                    outputIsString = true;
-                }
-                output.append(partValue);
-            } else {
-                outputIsString = true;
-                output.append(input.charAt(pos++));
-            }
-        }
-        return outputIsString ? output.toString() : outputAsNumber;
+        return DynamicValueTemplate.of(input).evaluate(input,
+                (formula, path) -> calculateFormulaFromContext(scenarioContext, formula, path));
     }
 
-    private boolean aFormulaIsStartingAt(String input, int pos) {
-        if (pos >= input.length() - 1)
-            return false;
-        return input.substring(pos, pos + 2).equals("${");
+    private boolean hasDynamicContent(Object value) {
+        return value instanceof String && !((String) value).isEmpty()
+                && !DynamicValueTemplate.of((String) value).isStatic();
     }
 
-    private boolean anEnvVarIsStartingAt(String input, int pos) {
-        if (pos >= input.length() - 1)
-            return false;
-        return input.substring(pos, pos + 2).equals("{{");
+    /**
+     * Injects the dynamic values into a part of the test data, skipping the part
+     * altogether if it has been found to have no dynamic content in an earlier
+     * injection into a copy of the same loaded part.
+     */
+    private void injectDynamicValuesIntoPart(String path, Map<String, Object> map, Map<String, Object> templateMap) {
+        if (templateMap != null && PARTS_WITHOUT_DYNAMIC_CONTENT.getIfPresent(templateMap) != null)
+            return;
+        if (!injectDynamicValuesInto(path, map) && templateMap != null)
+            PARTS_WITHOUT_DYNAMIC_CONTENT.put(templateMap, Boolean.TRUE);
     }
 
+    /**
+     * Returns whether anything was found to inject or to convert in the map.
+     */
     @SuppressWarnings("unchecked")
-    private void injectDynamicValuesInto(String path, Map<String, Object> map) {
+    private boolean injectDynamicValuesInto(String path, Map<String, Object> map) {
         if (map == null) {
-            return;
+            return false;
         }
-        map.forEach((key, value) -> {
+        boolean dynamic = false;
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            String key = entry.getKey();
+            Object value = entry.getValue();
             if (value instanceof String) {
-                map.put(key, processDynamicValuesIn((String) value));
+                if (hasDynamicContent(value)) {
+                    dynamic = true;
+                    entry.setValue(processDynamicValuesIn((String) value));
+                }
             } else if (value instanceof Map<?, ?>) {
-                injectDynamicValuesInto(path + "." + key, (Map<String, Object>) value);
+                dynamic |= injectDynamicValuesInto(path + "." + key, (Map<String, Object>) value);
+            } else if (value instanceof ArrayList<?>) {
+                dynamic |= injectDynamicValuesInto(path + "." + key, (List<Object>) value);
             } else if (isArray(value)) {
+                dynamic = true;
                 ArrayList<Object> values = new ArrayList<>(Arrays.asList((Object[]) value));
                 injectDynamicValuesInto(path + "." + key, values);
-                map.put(key, values);
+                entry.setValue(values);
             } else if (value instanceof Iterable) {
+                dynamic = true;
                 ArrayList<Object> values = StreamSupport.stream(((Iterable<Object>) value).spliterator(), false)
                         .collect(Collectors.toCollection(ArrayList::new));
                 injectDynamicValuesInto(path + "." + key, values);
-                map.put(key, values);
+                entry.setValue(values);
             }
-        });
+        }
+        return dynamic;
     }
 
+    /**
+     * Returns whether anything was found to inject or to convert in the list.
+     */
     @SuppressWarnings("unchecked")
-    private void injectDynamicValuesInto(String path, List<Object> objects) {
+    private boolean injectDynamicValuesInto(String path, List<Object> objects) {
         if (objects == null) {
-            return;
+            return false;
         }
+        boolean dynamic = false;
         for (int i = 0; i < objects.size(); i++) {
             Object value = objects.get(i);
             if (value instanceof String) {
-                objects.set(i, processDynamicValuesIn((String) value));
+                if (hasDynamicContent(value)) {
+                    dynamic = true;
+                    objects.set(i, processDynamicValuesIn((String) value));
+                }
             } else if (value instanceof Map<?, ?>) {
-                injectDynamicValuesInto(path + "[" + i + "]", (Map<String, Object>) value);
+                dynamic |= injectDynamicValuesInto(path + "[" + i + "]", (Map<String, Object>) value);
+            } else if (value instanceof ArrayList<?>) {
+                dynamic |= injectDynamicValuesInto(path + "[" + i + "]", (List<Object>) value);
             } else if (isArray(value)) {
+                dynamic = true;
                 ArrayList<Object> values = new ArrayList<>(Arrays.asList((Object[]) value));
                 injectDynamicValuesInto(path + "[" + i + "]", values);
                 objects.set(i, values);
             } else if (value instanceof Iterable) {
+                dynamic = true;
                 ArrayList<Object> values = StreamSupport.stream(((Iterable<Object>) value).spliterator(), false)
                         .collect(Collectors.toCollection(ArrayList::new));
                 injectDynamicValuesInto(path + "[" + i + "]", values);
                 objects.set(i, values);
             }
         }
+        return dynamic;
     }
 
     private Object calculateFormulaFromContext(Object container, String formula) {
-        if (formula.trim().equals("${}") || formula.trim().equalsIgnoreCase("${" + EMPTY_STRING_MARKER + "}")) {
+        return calculateFormulaFromContext(container, formula, DynamicValueTemplate.pathOf(formula));
+    }
+
+    private Object calculateFormulaFromContext(Object container, String formula, FieldPath path) {
+        if (path == null) {
             return "";
         }
-        String[] fields = formula.substring(3).split("\\]\\[|\\]\\}");
-        if (fields.length <= 1) {
+        if (path.size() <= 1) {
             throw new FunctionalTestException("No processible field found in " + formula);
         }
-        return calculateInContainer(container, fields, 1);
+        return calculateInContainer(container, path, 1);
     }
 
     @SuppressWarnings("unchecked")
-    private Object calculateInContainer(Object container, String[] fields, int fieldIndex) {
+    private Object calculateInContainer(Object container, FieldPath path, int fieldIndex) {
+        FieldPath.Step step = path.getStep(fieldIndex);
         Object value = null;
         if (isArray(container)) {
-            value = ((Object[]) container)[Integer.parseInt(fields[fieldIndex])];
+            value = ((Object[]) container)[step.getPosition()];
         } else if (container instanceof List<?>) {
-            value = ((List<?>) container).get(Integer.parseInt(fields[fieldIndex]));
+            value = ((List<?>) container).get(step.getPosition());
         } else if (container instanceof Map<?, ?>) {
-            value = ((Map<?, ?>) container).get(fields[fieldIndex]);
+            value = ((Map<?, ?>) container).get(step.getField());
         } else if (container instanceof Function<?, ?>) {
-            value = ((Function<String, Object>) container).apply(fields[fieldIndex]);
+            value = ((Function<String, Object>) container).apply(step.getField());
         } else {
             try {
-                value = ReflectionUtils.retrieveFieldInObject(container, fields[fieldIndex]);
+                value = ReflectionUtils.retrieveFieldInObject(container, step);
             } catch (Exception e) {
-                throw new FunctionalTestException("Unable to extract " + fields[fieldIndex] + " from " + container, e);
+                throw new FunctionalTestException("Unable to extract " + step.getField() + " from " + container, e);
             }
         }
-        if (fieldIndex == fields.length - 1) {
+        if (fieldIndex == path.size() - 1) {
             return value;
         } else {
-            return calculateInContainer(value, fields, fieldIndex + 1);
+            return calculateInContainer(value, path, fieldIndex + 1);
         }
 
     }
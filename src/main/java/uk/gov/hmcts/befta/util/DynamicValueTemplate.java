@@ -0,0 +1,170 @@
+package uk.gov.hmcts.befta.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import uk.gov.hmcts.befta.exception.FunctionalTestException;
+
+/**
+ * A string value in test data parsed into its literal parts, its
+ * <code>${...}</code> formulas and its <code>{{...}}</code> environment
+ * variables. Each distinct string is parsed once and the result is shared.
+ * <p>
+ * An unclosed formula or environment variable is kept as a part that fails
+ * when it is reached, so that the parts before it fail first as they would
+ * when evaluated one by one.
+ */
+final class DynamicValueTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 50000;
+
+    private static final String EMPTY_STRING_MARKER = "EMPTY_STRING";
+
+    private static final Cache<String, DynamicValueTemplate> TEMPLATES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_TEMPLATES).build();
+
+    private enum SegmentType {
+        LITERAL, FORMULA, ENV_VAR, UNCLOSED_FORMULA, UNCLOSED_ENV_VAR
+    }
+
+    private static final class Segment {
+
+        private final SegmentType type;
+        private final String text;
+        private final FieldPath path;
+
+        private Segment(SegmentType type, String text, FieldPath path) {
+            this.type = type;
+            this.text = text;
+            this.path = path;
+        }
+    }
+
+    private final List<Segment> segments;
+    private final boolean wholeFormula;
+
+    private DynamicValueTemplate(List<Segment> segments, boolean wholeFormula) {
+        this.segments = segments;
+        this.wholeFormula = wholeFormula;
+    }
+
+    static DynamicValueTemplate of(String input) {
+        DynamicValueTemplate template = TEMPLATES.getIfPresent(input);
+        if (template == null) {
+            template = parse(input);
+            TEMPLATES.put(input, template);
+        }
+        return template;
+    }
+
+    /**
+     * Whether the value has no formulas or environment variables in it, and so
+     * evaluates to itself.
+     */
+    boolean isStatic() {
+        return segments.size() <= 1 && (segments.isEmpty() || segments.get(0).type == SegmentType.LITERAL);
+    }
+
+    /**
+     * Evaluates the value, calculating its formulas with the given function of
+     * the formula and its path. A value made of a single formula evaluates to
+     * whatever the formula does. Otherwise the parts are joined into a string,
+     * unless they are all numbers, in which case the last of them is returned.
+     */
+    Object evaluate(String input, BiFunction<String, FieldPath, Object> formulaCalculator) {
+        if (isStatic())
+            return input;
+        if (wholeFormula)
+            return formulaCalculator.apply(segments.get(0).text, segments.get(0).path);
+        StringBuilder output = new StringBuilder();
+        Object outputAsNumber = null;
+        boolean outputIsString = false;
+        for (Segment segment : segments) {
+            Object partValue;
+            switch (segment.type) {
+            case FORMULA:
+                partValue = formulaCalculator.apply(segment.text, segment.path);
+                break;
+            case ENV_VAR:
+                partValue = EnvironmentVariableUtils.getRequiredVariable(segment.text);
+                break;
+            case UNCLOSED_FORMULA:
+                throw new RuntimeException(segment.text);
+            case UNCLOSED_ENV_VAR:
+                throw new FunctionalTestException(segment.text);
+            default:
+                outputIsString = true;
+                output.append(segment.text);
+                continue;
+            }
+            if (partValue instanceof Number) {
+                outputAsNumber = partValue;
+            } else {
+                outputIsString = true;
+            }
+            output.append(partValue);
+        }
+        return outputIsString ? output.toString() : outputAsNumber;
+    }
+
+    /**
+     * Returns the path of fields a formula refers to, the first of which is the
+     * root the formula is calculated from. Returns null for a formula standing
+     * for the empty string.
+     */
+    static FieldPath pathOf(String formula) {
+        if (formula.trim().equals("${}") || formula.trim().equalsIgnoreCase("${" + EMPTY_STRING_MARKER + "}")) {
+            return null;
+        }
+        return FieldPath.ofFormula(formula);
+    }
+
+    private static DynamicValueTemplate parse(String input) {
+        if (input.isEmpty())
+            return new DynamicValueTemplate(Collections.emptyList(), false);
+        List<Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        int pos = 0;
+        while (pos < input.length()) {
+            if (input.startsWith("${", pos)) {
+                int closingAt = input.indexOf("}", pos + 2);
+                addLiteral(segments, input, literalStart, pos);
+                if (closingAt < 0) {
+                    segments.add(new Segment(SegmentType.UNCLOSED_FORMULA,
+                            "'${' is not matched with a '}' for " + input + " at position: " + pos + ".", null));
+                    return new DynamicValueTemplate(segments, false);
+                }
+                String formula = input.substring(pos, closingAt + 1);
+                segments.add(new Segment(SegmentType.FORMULA, formula, pathOf(formula)));
+                pos = literalStart = closingAt + 1;
+            } else if (input.startsWith("{{", pos)) {
+                int closingAt = input.indexOf("}}", pos + 2);
+                addLiteral(segments, input, literalStart, pos);
+                if (closingAt < 0) {
+                    segments.add(new Segment(SegmentType.UNCLOSED_ENV_VAR,
+                            "'{{' is not matched with a '}}' for " + input + " at position: " + pos + ".", null));
+                    return new DynamicValueTemplate(segments, false);
+                }
+                segments.add(new Segment(SegmentType.ENV_VAR, input.substring(pos + 2, closingAt), null));
+                pos = literalStart = closingAt + 2;
+            } else {
+                pos++;
+            }
+        }
+        addLiteral(segments, input, literalStart, pos);
+        boolean wholeFormula = segments.get(0).type == SegmentType.FORMULA
+                && segments.get(0).text.length() == input.length();
+        return new DynamicValueTemplate(segments, wholeFormula);
+    }
+
+    private static void addLiteral(List<Segment> segments, String input, int start, int end) {
+        if (end > start)
+            segments.add(new Segment(SegmentType.LITERAL, input.substring(start, end), null));
+    }
+
+}
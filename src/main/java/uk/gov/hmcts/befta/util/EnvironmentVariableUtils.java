@@ -2,8 +2,14 @@ package uk.gov.hmcts.befta.util;
 
 import org.apache.commons.lang3.Validate;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 public class EnvironmentVariableUtils {
 
+    private static volatile Map<String, String> snapshot = null;
+
     public static String resolvePossibleVariable(String key) {
         if (key.startsWith("[[$")) {
             String envKey = key.substring(3, key.length() - 2);
@@ -14,10 +20,32 @@ public class EnvironmentVariableUtils {
     }
 
     public static String getRequiredVariable(String name) {
-        return Validate.notNull(System.getenv(name), "Environment variable `%s` is required", name);
+        return Validate.notNull(getVariable(name), "Environment variable `%s` is required", name);
     }
 
     public static String getOptionalVariable(String name) {
-        return System.getenv(name);
+        return getVariable(name);
+    }
+
+    /**
+     * Takes a snapshot of the environment, from which variables are read until
+     * the snapshot is released or a new one is taken. Until a snapshot is taken,
+     * variables are read from the environment on every call.
+     */
+    public static void takeSnapshot() {
+        snapshot = Collections.unmodifiableMap(new HashMap<>(System.getenv()));
+    }
+
+    public static void releaseSnapshot() {
+        snapshot = null;
+    }
+
+    public static boolean isSnapshotTaken() {
+        return snapshot != null;
+    }
+
+    private static String getVariable(String name) {
+        Map<String, String> variables = snapshot;
+        return variables != null ? variables.get(name) : System.getenv(name);
     }
 }
@@ -1,8 +1,10 @@
 package uk.gov.hmcts.befta.util;
 
 import java.text.NumberFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.Arrays;
 
 public enum ExpectedValuePlaceholder {
 
@@ -27,10 +29,23 @@ public enum ExpectedValuePlaceholder {
     ANY_OBJECT_NOT_NULLABLE(false);
 
 
+    private static final DateTimeFormatter DATE_FORMAT = lenientFormatOf("yyyy-MM-dd");
+
+    // a timestamp with seconds or milliseconds starts with one of minutes, so
+    // that checking for the shortest form is enough.
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = lenientFormatOf("yyyy-MM-dd'T'HH:mm");
+
+    private static final ThreadLocal<NumberFormat> NUMBER_FORMAT = ThreadLocal.withInitial(NumberFormat::getInstance);
+
+    private static final ExpectedValuePlaceholder[][] VALUES_BY_LENGTH = indexValuesByLength();
+
     private boolean nullable;
 
+    private final String value;
+
     ExpectedValuePlaceholder(boolean nullable) {
         this.nullable = nullable;
+        this.value = "[[" + name() + "]]";
     }
 
     public boolean isNullable() {
@@ -42,81 +57,115 @@ public enum ExpectedValuePlaceholder {
             return isNullable();
         }
 
-        boolean valid = true;
+        switch (this) {
+            case ANY_STRING_NULLABLE:
+            case ANY_STRING_NOT_NULLABLE:
+                return actualObject instanceof String;
+
+            case ANY_INTEGER_NOT_NULLABLE:
+            case ANY_INTEGER_NULLABLE:
+                return isInteger(actualObject);
+
+            case ANY_NUMBER_NOT_NULLABLE:
+            case ANY_NUMBER_NULLABLE:
+                return startsWith(NUMBER_FORMAT.get(), actualObject.toString());
+
+            case ANY_FLOATING_NOT_NULLABLE:
+            case ANY_FLOATING_NULLABLE:
+                return isFloating(actualObject);
+
+            case ANY_DATE_NOT_NULLABLE:
+            case ANY_DATE_NULLABLE:
+                return startsWith(DATE_FORMAT, actualObject.toString());
+
+            case ANY_TIMESTAMP_NOT_NULLABLE:
+            case ANY_TIMESTAMP_NULLABLE:
+                return startsWith(TIMESTAMP_FORMAT, actualObject.toString());
+
+            case ANY_NULLABLE:
+            case ANY_NOT_NULLABLE:
+            case ANYTHING_PRESENT:
+            case ANY_OBJECT_NOT_NULLABLE :
+            case ANY_OBJECT_NULLABLE:
+            default:
+                return true;
+        }
+    }
 
+    private static boolean isInteger(Object actualObject) {
+        if (actualObject instanceof Integer || actualObject instanceof Short || actualObject instanceof Byte) {
+            return true;
+        }
         try {
-            switch (this) {
-                case ANY_STRING_NULLABLE:
-                case ANY_STRING_NOT_NULLABLE:
-                    valid = actualObject instanceof String;
-                    break;
-
-                case ANY_INTEGER_NOT_NULLABLE:
-                case ANY_INTEGER_NULLABLE:
-                    Integer.parseInt(actualObject.toString());
-                    break;
-                
-                case ANY_NUMBER_NOT_NULLABLE:
-                case ANY_NUMBER_NULLABLE:
-                    NumberFormat.getInstance().parse(actualObject.toString());
-                    break;
-                
-                case ANY_FLOATING_NOT_NULLABLE:
-                case ANY_FLOATING_NULLABLE:
-                    Float.parseFloat(actualObject.toString());
-                    break;
- 
-                case ANY_DATE_NOT_NULLABLE:
-                case ANY_DATE_NULLABLE:
-                    SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd");
-                    simpleDateFormat.parse(actualObject.toString());
-                    break;
-
-                case ANY_TIMESTAMP_NOT_NULLABLE:
-                case ANY_TIMESTAMP_NULLABLE:
-                parseTimestamp(actualObject);
-                    break;
-
-                case ANY_NULLABLE:
-                case ANY_NOT_NULLABLE:
-                case ANYTHING_PRESENT:
-                case ANY_OBJECT_NOT_NULLABLE :
-                case ANY_OBJECT_NULLABLE:
-
-            }
-        } catch (Exception e) {
-            valid = false;
+            Integer.parseInt(actualObject.toString());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
         }
-
-        return valid;
     }
 
-    private void parseTimestamp(Object actualObject) throws ParseException {
+    private static boolean isFloating(Object actualObject) {
+        if (actualObject instanceof Double || actualObject instanceof Float || actualObject instanceof Long
+                || actualObject instanceof Integer || actualObject instanceof Short
+                || actualObject instanceof Byte) {
+            return true;
+        }
         try {
-            SimpleDateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS");
-            timestampFormat.parse(actualObject.toString());
-        } catch (ParseException e) {
-            try {
-                SimpleDateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
-                timestampFormat.parse(actualObject.toString());
-            } catch (ParseException ex) {
-                    SimpleDateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm");
-                    timestampFormat.parse(actualObject.toString());
-            }
+            Float.parseFloat(actualObject.toString());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
         }
     }
 
+    /**
+     * Dates, timestamps and numbers are accepted as long as they start the text,
+     * whatever follows them, as they always have been with the
+     * <code>java.text</code> formats.
+     */
+    private static boolean startsWith(DateTimeFormatter format, String text) {
+        return format.parseUnresolved(text, new ParsePosition(0)) != null;
+    }
+
+    private static boolean startsWith(NumberFormat format, String text) {
+        return format.parse(text, new ParsePosition(0)) != null;
+    }
+
+    private static DateTimeFormatter lenientFormatOf(String pattern) {
+        return new DateTimeFormatterBuilder().parseLenient().appendPattern(pattern).toFormatter();
+    }
+
     public String getValue() {
-        return "[[" + name() + "]]";
+        return value;
     }
 
     public static ExpectedValuePlaceholder getByValue(String strValue) {
-        ExpectedValuePlaceholder[] values = values();
-        for(ExpectedValuePlaceholder value: values) {
-            if (strValue.equalsIgnoreCase(value.getValue())) {
+        if (strValue.length() >= VALUES_BY_LENGTH.length || !strValue.startsWith("[[")) {
+            return null;
+        }
+        for (ExpectedValuePlaceholder value : VALUES_BY_LENGTH[strValue.length()]) {
+            if (strValue.equalsIgnoreCase(value.value)) {
                 return value;
             }
         }
         return null;
     }
+
+    /**
+     * Groups the placeholders by the length of their values, which are
+     * compared with a string only if they are as long as it is.
+     */
+    private static ExpectedValuePlaceholder[][] indexValuesByLength() {
+        int maxLength = 0;
+        for (ExpectedValuePlaceholder value : values()) {
+            maxLength = Math.max(maxLength, value.value.length());
+        }
+        ExpectedValuePlaceholder[][] valuesByLength = new ExpectedValuePlaceholder[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            int valueLength = length;
+            valuesByLength[length] = Arrays.stream(values()).filter(value -> value.value.length() == valueLength)
+                    .toArray(ExpectedValuePlaceholder[]::new);
+        }
+        return valuesByLength;
+    }
 }
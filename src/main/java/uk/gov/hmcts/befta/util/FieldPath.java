@@ -0,0 +1,179 @@
+package uk.gov.hmcts.befta.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A path of fields into an object, split into its steps once and shared by
+ * every evaluation of the same path. A path is either dotted, as in
+ * <code>request.body.list[0]</code> with <code>\.</code> escaping a dot in a
+ * field name, or the bracketed path of a formula, as in
+ * <code>${[scenarioContext][testData][uri]}</code>.
+ * <p>
+ * Indices which are not numbers are kept as they are written, so that they
+ * fail only when a step using them is reached, as they would if the path was
+ * parsed step by step.
+ */
+final class FieldPath {
+
+    private static final int MAX_CACHED_PATHS = 50000;
+
+    // i.e. look for '.' but not the escaped version '\.'
+    private static final Pattern FIELD_SEPARATOR = Pattern.compile("(?<!\\\\)(?:\\\\\\\\)*\\.");
+
+    private static final Pattern FORMULA_FIELD_SEPARATOR = Pattern.compile("\\]\\[|\\]\\}");
+
+    private static final Cache<String, FieldPath> DOTTED_PATHS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PATHS).build();
+
+    private static final Cache<String, FieldPath> FORMULA_PATHS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PATHS).build();
+
+    private static final Cache<String, Step> SINGLE_STEPS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_PATHS).build();
+
+    /**
+     * A single field in a path.
+     */
+    static final class Step {
+
+        private final String field;
+        private final String name;
+        private final int indexStart;
+        private final boolean hasNumericIndex;
+        private final int index;
+        private final boolean isNumeric;
+        private final int position;
+
+        private Step(String field) {
+            this.field = field;
+            indexStart = field.indexOf("[");
+            name = indexStart < 0 ? field : field.substring(0, indexStart);
+            hasNumericIndex = indexStart < 0 || (indexStart < field.length() - 1 && isInt(indexText()));
+            index = indexStart < 0 ? -1 : hasNumericIndex ? Integer.parseInt(indexText()) : 0;
+            isNumeric = isInt(field);
+            position = isNumeric ? Integer.parseInt(field) : 0;
+        }
+
+        /**
+         * Returns the step for a single field, which is not split at dots.
+         */
+        static Step of(String field) {
+            Step step = SINGLE_STEPS.getIfPresent(field);
+            if (step == null) {
+                step = new Step(field);
+                SINGLE_STEPS.put(field, step);
+            }
+            return step;
+        }
+
+        /**
+         * The field as it is written in the path, index included.
+         */
+        String getField() {
+            return field;
+        }
+
+        /**
+         * The name of the field, without the index following it if any.
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * The index following the name of the field, or -1 if there is none.
+         */
+        int getIndex() {
+            if (!hasNumericIndex)
+                throw notANumber(indexText());
+            return index;
+        }
+
+        /**
+         * The whole field read as a position in a list or an array.
+         */
+        int getPosition() {
+            if (!isNumeric)
+                throw notANumber(field);
+            return position;
+        }
+
+        private String indexText() {
+            return field.substring(indexStart + 1, field.length() - 1);
+        }
+
+        /**
+         * Whether the text is a decimal number in the range of an int, checked
+         * without parsing it, as most fields are names rather than numbers.
+         */
+        private static boolean isInt(String text) {
+            int length = text.length();
+            int start = length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+') ? 1 : 0;
+            if (start == length || length - start > 18)
+                return false;
+            for (int i = start; i < length; i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9')
+                    return false;
+            }
+            long value = Long.parseLong(text);
+            return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+        }
+
+        private static NumberFormatException notANumber(String text) {
+            return new NumberFormatException("For input string: \"" + text + "\"");
+        }
+    }
+
+    private final List<Step> steps;
+
+    private FieldPath(String[] fields) {
+        List<Step> steps = new ArrayList<>(fields.length);
+        for (String field : fields)
+            steps.add(new Step(field));
+        this.steps = Collections.unmodifiableList(steps);
+    }
+
+    /**
+     * Returns the dotted path given, which must be non-empty.
+     */
+    static FieldPath of(String fieldPath) {
+        FieldPath path = DOTTED_PATHS.getIfPresent(fieldPath);
+        if (path == null) {
+            String[] fields = FIELD_SEPARATOR.split(fieldPath);
+            for (int i = 0; i < fields.length; i++)
+                fields[i] = fields[i].replace("\\.", ".");
+            path = new FieldPath(fields);
+            DOTTED_PATHS.put(fieldPath, path);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the path of a formula, the first step of which is the root the
+     * formula is calculated from.
+     */
+    static FieldPath ofFormula(String formula) {
+        FieldPath path = FORMULA_PATHS.getIfPresent(formula);
+        if (path == null) {
+            path = new FieldPath(FORMULA_FIELD_SEPARATOR.split(formula.substring(3)));
+            FORMULA_PATHS.put(formula, path);
+        }
+        return path;
+    }
+
+    int size() {
+        return steps.size();
+    }
+
+    Step getStep(int i) {
+        return steps.get(i);
+    }
+
+}
@@ -2,12 +2,19 @@ package uk.gov.hmcts.befta.util;
 
 import com.fasterxml.jackson.core.JsonGenerationException;
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import uk.gov.hmcts.befta.exception.FunctionalTestException;
 
@@ -34,6 +41,21 @@ public class JsonUtils {
         return mapper.readValue(jsonText, objectType);
     }
 
+    /**
+     * Reads a JSON value with a streaming parser straight from a stream, without
+     * reading it into text first, into maps, lists and JSON values as
+     * {@link #readObjectFromJsonText(String, Class)} does for <code>Object</code>.
+     * An empty stream is read as null. The stream is closed once read.
+     */
+    public static Object readObjectFromJsonStream(InputStream inputStream) throws IOException {
+        if (inputStream == null) {
+            return null;
+        }
+        try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            return parser.nextToken() == null ? null : mapper.readValue(parser, Object.class);
+        }
+    }
+
     public static String getJsonFromObject(Object object) throws JsonParseException, JsonMappingException, IOException {
         return mapper.writeValueAsString(object);
     }
@@ -57,4 +79,47 @@ public class JsonUtils {
             throw new FunctionalTestException("Unable to deep copy object.", e);
         }
     }
+
+    /**
+     * Deep copies a tree of maps, lists and JSON values as read by Jackson without
+     * going through JSON text. Maps and lists are copied into new ones, while
+     * strings, numbers and booleans, being immutable, are shared with the
+     * original. Anything else in the tree is copied through JSON, as
+     * {@link #deepCopy(Object)} does.
+     */
+    public static Object deepCopyOfTree(Object original) {
+        if (original instanceof Map || original instanceof List)
+            return copyOfTreeValue(original);
+        return deepCopy(original);
+    }
+
+    private static Object copyOfTreeValue(Object value) {
+        if (value == null || isImmutableJsonValue(value))
+            return value;
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            Map<Object, Object> copy = new LinkedHashMap<>(Math.max(16, (int) (map.size() / .75f) + 1));
+            for (Map.Entry<?, ?> entry : map.entrySet())
+                copy.put(entry.getKey(), copyOfTreeValue(entry.getValue()));
+            return copy;
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list)
+                copy.add(copyOfTreeValue(element));
+            return copy;
+        }
+        try {
+            return mapper.readValue(mapper.writeValueAsString(value), Object.class);
+        } catch (Exception e) {
+            throw new FunctionalTestException("Unable to deep copy object.", e);
+        }
+    }
+
+    private static boolean isImmutableJsonValue(Object value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Double || value instanceof BigInteger
+                || value instanceof BigDecimal;
+    }
 }
@@ -4,13 +4,20 @@ import static uk.gov.hmcts.befta.data.CollectionVerificationConfig.ELEMENT_ID_FI
 import static uk.gov.hmcts.befta.data.CollectionVerificationConfig.OPERATOR_FIELD_NAME;
 import static uk.gov.hmcts.befta.data.CollectionVerificationConfig.ORDERING_FIELD_NAME;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import uk.gov.hmcts.befta.data.CollectionVerificationConfig;
 import uk.gov.hmcts.befta.data.CollectionVerificationConfig.Operator;
@@ -24,6 +31,18 @@ public class MapVerifier {
 
     private boolean caseSensitiveForStrings;
 
+    private FieldPrefix rootFieldPrefix;
+
+    private int parallelThreshold = 0;
+
+    private int maxIssues = 0;
+
+    /**
+     * The issues left to be found before a single verification stops, or null if
+     * there is no limit.
+     */
+    private IssueBudget issueBudget;
+
 	public static MapVerifier createMapVerifier(String fieldPrefix, int maxMessageDepth,
 			boolean caseSensitiveForStrings) {
 		return new MapVerifier(fieldPrefix, maxMessageDepth, caseSensitiveForStrings);
@@ -51,158 +70,448 @@ public class MapVerifier {
             throw new IllegalArgumentException("Max depth cannot be negative.");
         }
         this.fieldPrefix = fieldPrefix;
+        this.rootFieldPrefix = FieldPrefix.of(fieldPrefix);
         this.maxMessageDepth = maxMessageDepth;
         this.caseSensitiveForStrings = caseSensitiveForStrings;
     }
 
-    public MapVerificationResult verifyMap(Map<String, Object> expectedMap, Map<String, Object> actualMap) {
-        return verifyMap(fieldPrefix, expectedMap, actualMap, 0);
+    private MapVerifier(MapVerifier verifier, IssueBudget issueBudget) {
+        this(verifier.fieldPrefix, verifier.maxMessageDepth, verifier.caseSensitiveForStrings);
+        this.parallelThreshold = verifier.parallelThreshold;
+        this.maxIssues = verifier.maxIssues;
+        this.issueBudget = issueBudget;
     }
 
-    private MapVerificationResult verifyMap(String fieldPrefix, Map<String, Object> expectedMap,
-            Map<String, Object> actualMap, int currentDepth) {
+    /**
+     * Sets the number of values an expected top level submap or collection must
+     * have for it to be verified in fork-join tasks, or 0, the default, to verify
+     * everything on the calling thread. The result is the same either way. Maps
+     * are verified on the calling thread while there is a max number of issues,
+     * so that the issues found before verification stops are always the same.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold cannot be negative.");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
 
-        boolean shouldReportAnyDifference = currentDepth <= maxMessageDepth;
+    /**
+     * Sets the number of issues after which verification stops, reporting the
+     * issues found so far under a summary saying so, or 0, the default, to verify
+     * all of the maps whatever the number of issues.
+     */
+    public void setMaxIssues(int maxIssues) {
+        if (maxIssues < 0) {
+            throw new IllegalArgumentException("Max issues cannot be negative.");
+        }
+        this.maxIssues = maxIssues;
+    }
 
+    public MapVerificationResult verifyMap(Map<String, Object> expectedMap, Map<String, Object> actualMap) {
+        return verifyMap(expectedMap, actualMap, null);
+    }
+
+    /**
+     * Verifies an actual map against an expected one, following the plan given,
+     * which is to be either null or compiled from the expected map as it was
+     * before any dynamic value was injected into it.
+     */
+    public MapVerificationResult verifyMap(Map<String, Object> expectedMap, Map<String, Object> actualMap,
+            VerificationPlan plan) {
         if (expectedMap == actualMap) {
             return MapVerificationResult.DEFAULT_VERIFIED;
+        } else if (maxIssues > 0 && issueBudget == null) {
+            return new MapVerifier(this, new IssueBudget(maxIssues)).verifyMap(expectedMap, actualMap, plan);
+        }
+        MapVerificationResult result = verifyMap(rootFieldPrefix, expectedMap, actualMap, 0, plan);
+        if (result == null) {
+            return MapVerificationResult.minimalVerifiedResult(fieldPrefix, 0, maxMessageDepth);
+        } else if (isIssueBudgetExhausted()) {
+            result.setSummary(fieldPrefix + ": Verification stopped after finding " + maxIssues
+                    + " issues, so the map may have more issues than reported.");
+        }
+        return result;
+    }
+
+    /**
+     * Returns the result of a failed verification, or null if the maps verify.
+     */
+    private MapVerificationResult verifyMap(FieldPrefix fieldPrefix, Map<String, Object> expectedMap,
+            Map<String, Object> actualMap, int currentDepth, VerificationPlan plan) {
+
+        boolean shouldReportAnyDifference = currentDepth <= maxMessageDepth;
+
+        if (expectedMap == actualMap || isIssueBudgetExhausted()) {
+            return null;
         } else if (expectedMap == null) {
-            return new MapVerificationResult(fieldPrefix, false,
+            return new MapVerificationResult(fieldPrefix.toString(), false,
                     shouldReportAnyDifference ? "Map is expected to be null, but is actually not." : null, currentDepth,
                     maxMessageDepth);
         } else if (actualMap == null) {
-            return new MapVerificationResult(fieldPrefix, false,
+            return new MapVerificationResult(fieldPrefix.toString(), false,
                     shouldReportAnyDifference ? "Map is expected to be non-null, but is actually null." : null,
                     currentDepth, maxMessageDepth);
         }
 
         List<String> unexpectedFields = checkForUnexpectedlyAvailableFields(expectedMap, actualMap);
-        List<String> unavailableFields = checkForUnexpectedlyUnavailableFields(expectedMap, actualMap);
-        List<String> badValueMessages = collectBadValueMessagesFromMap(expectedMap, actualMap, fieldPrefix,
-                currentDepth, maxMessageDepth);
-        List<MapVerificationResult> badSubmaps = collectBadSubmaps(expectedMap, actualMap, fieldPrefix, currentDepth,
-                maxMessageDepth);
-
-        if (unexpectedFields.size() == 0 && unavailableFields.size() == 0 && badValueMessages.size() == 0
-                && badSubmaps.size() == 0) {
-            return MapVerificationResult.minimalVerifiedResult(fieldPrefix, currentDepth, maxMessageDepth);
+        List<String> unavailableFields = checkForUnexpectedlyUnavailableFields(expectedMap, actualMap, plan);
+        IssueMessages badValueMessages = collectBadValueMessagesFromMap(expectedMap, actualMap, fieldPrefix,
+                currentDepth, maxMessageDepth, plan);
+        List<MapVerificationResult> badSubmaps = currentDepth == 0 && isParallel()
+                ? collectBadSubmapsInParallel(expectedMap, actualMap, fieldPrefix, currentDepth, plan)
+                : collectBadSubmaps(expectedMap, actualMap, fieldPrefix, currentDepth, maxMessageDepth, plan);
+
+        if (unexpectedFields == null && unavailableFields == null && !badValueMessages.hasRecords()
+                && badSubmaps == null) {
+            return null;
         }
-        return new MapVerificationResult(fieldPrefix, false, null, unexpectedFields, unavailableFields,
-                badValueMessages, badSubmaps, currentDepth, maxMessageDepth);
+        return new MapVerificationResult(fieldPrefix.toString(), false, null, orNewList(unexpectedFields),
+                orNewList(unavailableFields), badValueMessages, orNewList(badSubmaps), currentDepth, maxMessageDepth);
     }
 
     @SuppressWarnings("unchecked")
     private List<MapVerificationResult> collectBadSubmaps(Map<String, Object> expectedMap,
-            Map<String, Object> actualMap, String fieldPrefix, int currentDepth, int maxMessageDepth) {
-        ArrayList<MapVerificationResult> differences = new ArrayList<>();
-        expectedMap.keySet().stream().filter(keyOfExpected -> actualMap.containsKey(keyOfExpected))
-                .forEach(commonKey -> {
-                    Object expectedValue = expectedMap.get(commonKey);
-                    Object actualValue = actualMap.get(commonKey);
-                    if (expectedValue instanceof Map && actualValue instanceof Map) {
-                        MapVerificationResult subresult = verifyMap(fieldPrefix + "." + commonKey,
-                                (Map<String, Object>) expectedValue, (Map<String, Object>) actualValue,
-                                currentDepth + 1);
-                        if (!subresult.isVerified()) {
-                            differences.add(subresult);
-                        }
+            Map<String, Object> actualMap, FieldPrefix fieldPrefix, int currentDepth, int maxMessageDepth,
+            VerificationPlan plan) {
+        List<MapVerificationResult> differences = null;
+        for (Map.Entry<String, Object> expectedEntry : expectedMap.entrySet()) {
+            if (isIssueBudgetExhausted())
+                break;
+            String commonKey = expectedEntry.getKey();
+            Object expectedValue = expectedEntry.getValue();
+            if (expectedValue instanceof Map && actualMap.containsKey(commonKey)) {
+                Object actualValue = actualMap.get(commonKey);
+                if (actualValue instanceof Map) {
+                    MapVerificationResult subresult = verifyMap(fieldPrefix.field(commonKey),
+                            (Map<String, Object>) expectedValue, (Map<String, Object>) actualValue,
+                            currentDepth + 1, VerificationPlan.fieldOf(plan, commonKey));
+                    if (subresult != null) {
+                        differences = addTo(differences, subresult);
+                    }
+                }
+            }
+        }
+        return differences;
+    }
+
+    /**
+     * Collects the same results as {@link #collectBadSubmaps}, verifying each
+     * submap large enough in a fork-join task while the rest are verified on the
+     * calling thread, and keeping the results in the order of the submaps.
+     */
+    @SuppressWarnings("unchecked")
+    private List<MapVerificationResult> collectBadSubmapsInParallel(Map<String, Object> expectedMap,
+            Map<String, Object> actualMap, FieldPrefix fieldPrefix, int currentDepth, VerificationPlan plan) {
+        List<Supplier<MapVerificationResult>> subresults = null;
+        for (Map.Entry<String, Object> expectedEntry : expectedMap.entrySet()) {
+            String commonKey = expectedEntry.getKey();
+            Object expectedValue = expectedEntry.getValue();
+            if (expectedValue instanceof Map && actualMap.containsKey(commonKey)) {
+                Object actualValue = actualMap.get(commonKey);
+                if (actualValue instanceof Map) {
+                    FieldPrefix subfield = fieldPrefix.field(commonKey);
+                    Map<String, Object> expectedSubmap = (Map<String, Object>) expectedValue;
+                    Map<String, Object> actualSubmap = (Map<String, Object>) actualValue;
+                    VerificationPlan subplan = VerificationPlan.fieldOf(plan, commonKey);
+                    if (isLargeEnoughToSplit(expectedSubmap)) {
+                        ForkJoinTask<MapVerificationResult> subverification = ForkJoinTask.adapt(
+                                () -> verifyMap(subfield, expectedSubmap, actualSubmap, currentDepth + 1, subplan));
+                        subresults = addTo(subresults, subverification.fork()::join);
+                    } else {
+                        MapVerificationResult subresult = verifyMap(subfield, expectedSubmap, actualSubmap,
+                                currentDepth + 1, subplan);
+                        subresults = addTo(subresults, () -> subresult);
                     }
-                });
+                }
+            }
+        }
+        List<MapVerificationResult> differences = null;
+        if (subresults != null) {
+            for (Supplier<MapVerificationResult> subresult : subresults) {
+                MapVerificationResult result = subresult.get();
+                if (result != null) {
+                    differences = addTo(differences, result);
+                }
+            }
+        }
         return differences;
     }
 
+    private boolean isParallel() {
+        return parallelThreshold > 0 && issueBudget == null;
+    }
+
+    private boolean isLargeEnoughToSplit(Object expectedValue) {
+        return isParallel() && countValues(expectedValue, parallelThreshold) >= parallelThreshold;
+    }
+
+    /**
+     * Counts a value together with all values nested in it, up to the limit given.
+     */
+    private static int countValues(Object value, int limit) {
+        int count = 1;
+        Iterable<?> nestedValues = value instanceof Map ? ((Map<?, ?>) value).values()
+                : value instanceof Collection ? (Collection<?>) value : null;
+        if (nestedValues != null) {
+            for (Object nestedValue : nestedValues) {
+                if (count >= limit)
+                    break;
+                count += countValues(nestedValue, limit - count);
+            }
+        }
+        return count;
+    }
+
     private List<String> checkForUnexpectedlyAvailableFields(Map<String, Object> expectedMap,
             Map<String, Object> actualMap) {
-        return actualMap.keySet().stream().filter(keyOfActual -> !expectedMap.containsKey(keyOfActual))
-                .collect(Collectors.toList());
+        List<String> unexpectedFields = null;
+        for (String keyOfActual : actualMap.keySet()) {
+            if (isIssueBudgetExhausted())
+                break;
+            if (!expectedMap.containsKey(keyOfActual)) {
+                unexpectedFields = addTo(unexpectedFields, keyOfActual);
+                spendIssueBudget();
+            }
+        }
+        return unexpectedFields;
     }
 
     private List<String> checkForUnexpectedlyUnavailableFields(Map<String, Object> expectedMap,
-            Map<String, Object> actualMap) {
-        return expectedMap.keySet().stream()
-                .filter(keyOfExpected -> !actualMap.containsKey(keyOfExpected)
-                        && isExpectedToBeAvailableInActual(expectedMap.get(keyOfExpected)))
-                .collect(Collectors.toList());
-    }
-
-    private List<String> collectBadValueMessagesFromMap(Map<String, Object> expectedMap, Map<String, Object> actualMap,
-            String fieldPrefix, int currentDepth, int maxMessageDepth) {
-        List<String> badValueMessages = new ArrayList<>();
-        expectedMap.keySet().stream().filter(keyOfExpected -> actualMap.containsKey(keyOfExpected))
-                .forEach(commonKey -> {
-                    Object expectedValue = expectedMap.get(commonKey);
-                    Object actualValue = actualMap.get(commonKey);
-                    if (expectedValue == actualValue) {
-                        //
-                    } else if (expectedValue == null) {
-                        badValueMessages.add("Must be null: " + commonKey);
-                    } else if (actualValue == null && isNoneNullablePlaceholder(expectedValue)) {
-                        badValueMessages.add("Must not be null: " + commonKey);
-                    } else if (!(expectedValue instanceof Map && actualValue instanceof Map)) {
-                        if (expectedValue instanceof Collection<?> && actualValue instanceof Collection<?>) {
-                            collectBadValueMessagesFromCollection(fieldPrefix + "." + commonKey, commonKey,
-                                    (Collection<?>) expectedValue, (Collection<?>) actualValue, currentDepth,
-                                    maxMessageDepth, badValueMessages);
-                        } else {
-                            Object outcome = compareValues(commonKey, expectedValue, actualValue, currentDepth,
-                                    maxMessageDepth);
-                            if (!Boolean.TRUE.equals(outcome)) {
-                                if (outcome instanceof String) {
-                                    badValueMessages.add((String) outcome);
-                                } else {
-                                    badValueMessages.add(fieldPrefix + "." + commonKey);
-                                }
-                            }
-                        }
+            Map<String, Object> actualMap, VerificationPlan plan) {
+        List<String> unavailableFields = null;
+        for (Map.Entry<String, Object> expectedEntry : expectedMap.entrySet()) {
+            if (isIssueBudgetExhausted())
+                break;
+            if (!actualMap.containsKey(expectedEntry.getKey()) && isExpectedToBeAvailableInActual(VerificationPlan
+                    .placeholderOf(expectedEntry.getValue(), VerificationPlan.fieldOf(plan, expectedEntry.getKey())))) {
+                unavailableFields = addTo(unavailableFields, expectedEntry.getKey());
+                spendIssueBudget();
+            }
+        }
+        return unavailableFields;
+    }
+
+    private IssueMessages collectBadValueMessagesFromMap(Map<String, Object> expectedMap,
+            Map<String, Object> actualMap, FieldPrefix fieldPrefix, int currentDepth, int maxMessageDepth,
+            VerificationPlan plan) {
+        IssueMessages badValueMessages = new IssueMessages(issueBudget);
+        for (Map.Entry<String, Object> expectedEntry : expectedMap.entrySet()) {
+            if (isIssueBudgetExhausted())
+                break;
+            String commonKey = expectedEntry.getKey();
+            if (!actualMap.containsKey(commonKey))
+                continue;
+            Object expectedValue = expectedEntry.getValue();
+            Object actualValue = actualMap.get(commonKey);
+            VerificationPlan fieldPlan = VerificationPlan.fieldOf(plan, commonKey);
+            if (expectedValue == actualValue) {
+                //
+            } else if (expectedValue == null) {
+                badValueMessages.add(() -> "Must be null: " + commonKey);
+            } else if (actualValue == null && isNoneNullablePlaceholder(expectedValue,
+                    VerificationPlan.placeholderOf(expectedValue, fieldPlan))) {
+                badValueMessages.add(() -> "Must not be null: " + commonKey);
+            } else if (!(expectedValue instanceof Map && actualValue instanceof Map)) {
+                if (expectedValue instanceof Collection<?> && actualValue instanceof Collection<?>) {
+                    collectBadValueMessagesFromCollection(fieldPrefix.field(commonKey), FieldPrefix.of(commonKey),
+                            (Collection<?>) expectedValue, (Collection<?>) actualValue, currentDepth,
+                            maxMessageDepth, badValueMessages, fieldPlan);
+                } else {
+                    Object outcome = compareValues(commonKey, expectedValue, actualValue, currentDepth,
+                            maxMessageDepth, VerificationPlan.placeholderOf(expectedValue, fieldPlan));
+                    if (!Boolean.TRUE.equals(outcome)) {
+                        addBadValueMessage(outcome, () -> fieldPrefix + "." + commonKey, badValueMessages);
                     }
-                });
+                }
+            }
+        }
         return badValueMessages;
     }
 
-    private void collectBadValueMessagesFromCollection(String fieldPrefix, String field,
+    private void collectBadValueMessagesFromCollection(FieldPrefix fieldPrefix, FieldPrefix field,
             Collection<?> expectedCollection, Collection<?> actualCollection, int currentDepth, int maxMessageDepth,
-            List<String> badValueMessages) {
-        if (expectedCollection == actualCollection)
+            IssueMessages badValueMessages, VerificationPlan plan) {
+        if (expectedCollection == actualCollection || isIssueBudgetExhausted())
             return;
-        CollectionVerificationConfig verificationConfig = getVerificationConfigFrom(expectedCollection);
+        CollectionVerificationConfig verificationConfig = VerificationPlan.collectionConfigOf(plan);
+        if (verificationConfig == null)
+            verificationConfig = getVerificationConfigFrom(expectedCollection);
         addAnySizeBasedIssue(fieldPrefix, expectedCollection, actualCollection, verificationConfig, badValueMessages);
         Iterator<?> itrExpected = expectedCollection.iterator();
         if (!verificationConfig.isDefault())
             itrExpected.next();
         Iterator<?> itrActual = actualCollection.iterator();
+        boolean ordered = verificationConfig.getOrdering() == Ordering.ORDERED;
+        ActualElementIndex actualElementIndex = new ActualElementIndex(actualCollection, !ordered,
+                verificationConfig.getElementId());
+        List<Consumer<IssueMessages>> elementVerifications = null;
+        boolean inParallel = isLargeEnoughToSplit(expectedCollection);
         int i = 0;
-        while (itrExpected.hasNext() && itrActual.hasNext()) {
+        while (itrExpected.hasNext() && itrActual.hasNext() && !isIssueBudgetExhausted()) {
             Object o1 = itrExpected.next();
-            String subfield = getSubfieldFor(field, verificationConfig, i, o1);
-            if (isPrimitive(o1)) {
-                if (!actualCollection.contains(o1)) {
-                    badValueMessages
-                            .add(fieldPrefix + "." + subfield + " is expected to be " + o1 + ", but is not available.");
-                }
+            Object o2 = ordered && !isPrimitive(o1) ? itrActual.next() : null;
+            if (inParallel) {
+                int index = i;
+                elementVerifications = addTo(elementVerifications,
+                        messages -> verifyCollectionElement(fieldPrefix, field, index, o1, o2, actualElementIndex,
+                                currentDepth, maxMessageDepth, messages, plan));
             } else {
-                Object o2 = pickItemToCompareWith(o1, actualCollection, itrActual, verificationConfig);
-                applyVerificationOnCollectionElements(o1, o2, fieldPrefix, subfield, currentDepth, maxMessageDepth,
-                        badValueMessages);
+                verifyCollectionElement(fieldPrefix, field, i, o1, o2, actualElementIndex, currentDepth,
+                        maxMessageDepth, badValueMessages, plan);
             }
             i++;
         }
+        if (elementVerifications != null) {
+            IssueMessages[] messagesByFirstElement = new IssueMessages[elementVerifications.size()];
+            new ElementVerifications(elementVerifications, messagesByFirstElement, 0, messagesByFirstElement.length,
+                    Math.max(1, messagesByFirstElement.length / (4 * ForkJoinPool.getCommonPoolParallelism())))
+                            .invoke();
+            for (IssueMessages messages : messagesByFirstElement) {
+                if (messages != null)
+                    badValueMessages.addAllRecordsOf(messages);
+            }
+        }
     }
 
-    private String getSubfieldFor(String field, CollectionVerificationConfig verificationConfig, int index,
-            Object objectWorkedOn) {
-        if (verificationConfig.getOrdering() == Ordering.ORDERED || isPrimitive(objectWorkedOn))
-            return field + "[" + index + "]";
-        else
-            return field + "[" + getIdValueIn(objectWorkedOn, verificationConfig.getElementId()) + "]";
+    /**
+     * Verifies the element at the given index of an expected collection, against
+     * the given actual element if the collection is ordered, or else against the
+     * actual element found by its primitive value or id.
+     */
+    private void verifyCollectionElement(FieldPrefix fieldPrefix, FieldPrefix field, int index, Object o1, Object o2,
+            ActualElementIndex actualElementIndex, int currentDepth, int maxMessageDepth,
+            IssueMessages badValueMessages, VerificationPlan plan) {
+        if (isPrimitive(o1)) {
+            if (!actualElementIndex.containsPrimitive(o1)) {
+                badValueMessages.add(() -> fieldPrefix + "." + field + "[" + index + "] is expected to be " + o1
+                        + ", but is not available.");
+            }
+        } else if (!actualElementIndex.isById()) {
+            applyVerificationOnCollectionElements(o1, o2, field.element(index), currentDepth, maxMessageDepth,
+                    badValueMessages, VerificationPlan.elementOf(plan, index));
+        } else {
+            Object id = actualElementIndex.getIdValueIn(o1);
+            applyVerificationOnCollectionElements(o1, actualElementIndex.findById(id), field.element(id),
+                    currentDepth, maxMessageDepth, badValueMessages, VerificationPlan.elementOf(plan, index));
+        }
     }
 
-    private boolean isPrimitive(Object o) {
+    /**
+     * Verifies a range of the elements of a collection, splitting it in halves
+     * down to ranges of the leaf size, each of which records its issues apart,
+     * under the index of its first element.
+     */
+    private static final class ElementVerifications extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Consumer<IssueMessages>> verifications;
+        private final IssueMessages[] messagesByFirstElement;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        private ElementVerifications(List<Consumer<IssueMessages>> verifications,
+                IssueMessages[] messagesByFirstElement, int from, int to, int leafSize) {
+            this.verifications = verifications;
+            this.messagesByFirstElement = messagesByFirstElement;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                IssueMessages messages = new IssueMessages(null);
+                for (int i = from; i < to; i++) {
+                    verifications.get(i).accept(messages);
+                }
+                messagesByFirstElement[from] = messages;
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ElementVerifications(verifications, messagesByFirstElement, from, middle, leafSize),
+                        new ElementVerifications(verifications, messagesByFirstElement, middle, to, leafSize));
+            }
+        }
+    }
+
+    private static boolean isPrimitive(Object o) {
         return o == null || (o instanceof String) || (o instanceof Number);
     }
 
-    private Object getIdValueIn(Object objectWorkedOn, String elementId) {
+    /**
+     * The elements of an actual collection, indexed on first use so that each
+     * expected element is matched without scanning the whole collection. Only the
+     * primitive elements are indexed for primitives, as nothing else equals them.
+     * The index is safe to share between the tasks verifying the elements.
+     */
+    private static class ActualElementIndex {
+
+        private final Collection<?> actualCollection;
+        private final boolean byId;
+        private final String[] idElements;
+        private volatile Set<Object> primitives;
+        private volatile Map<Object, Object> elementsById;
+
+        private ActualElementIndex(Collection<?> actualCollection, boolean byId, String elementId) {
+            this.actualCollection = actualCollection;
+            this.byId = byId;
+            this.idElements = !byId || elementId == null ? null : elementId.split(",");
+        }
+
+        private boolean isById() {
+            return byId;
+        }
+
+        private boolean containsPrimitive(Object primitive) {
+            Set<Object> indexed = primitives;
+            if (indexed == null) {
+                synchronized (this) {
+                    indexed = primitives;
+                    if (indexed == null) {
+                        indexed = new HashSet<>();
+                        for (Object element : actualCollection) {
+                            if (isPrimitive(element))
+                                indexed.add(element);
+                        }
+                        primitives = indexed;
+                    }
+                }
+            }
+            return indexed.contains(primitive);
+        }
+
+        /**
+         * Returns the first element with the given id, or null if there is none.
+         */
+        private Object findById(Object id) {
+            Map<Object, Object> indexed = elementsById;
+            if (indexed == null) {
+                synchronized (this) {
+                    indexed = elementsById;
+                    if (indexed == null) {
+                        indexed = new HashMap<>();
+                        for (Object element : actualCollection) {
+                            Object elementIdValue = getIdValueIn(element);
+                            if (!indexed.containsKey(elementIdValue))
+                                indexed.put(elementIdValue, element);
+                        }
+                        elementsById = indexed;
+                    }
+                }
+            }
+            return indexed.get(id);
+        }
+
+        private Object getIdValueIn(Object objectWorkedOn) {
+            return MapVerifier.getIdValueIn(objectWorkedOn, idElements);
+        }
+    }
+
+    private static Object getIdValueIn(Object objectWorkedOn, String[] idElements) {
         try {
-            String[] idElements = elementId.split(",");
             Object idElementValue = ReflectionUtils.deepGetFieldInObject(objectWorkedOn, idElements[0]);
             StringBuffer compositeIdValue = new StringBuffer(idElementValue.toString());
             for (int i = 1; i < idElements.length; i++)
@@ -216,33 +525,42 @@ public class MapVerifier {
     }
 
     @SuppressWarnings("unchecked")
-    private void applyVerificationOnCollectionElements(Object o1, Object o2, String fieldPrefix2, String subfield,
-            int currentDepth, int maxMessageDepth, List<String> badValueMessages) {
+    private void applyVerificationOnCollectionElements(Object o1, Object o2, FieldPrefix subfield, int currentDepth,
+            int maxMessageDepth, IssueMessages badValueMessages, VerificationPlan plan) {
         if (o1 instanceof Map && o2 instanceof Map) {
             MapVerificationResult subresult = verifyMap(subfield, (Map<String, Object>) o1, (Map<String, Object>) o2,
-                    currentDepth + 1);
-            if (!subresult.isVerified()) {
-                badValueMessages.addAll(subresult.getAllIssues());
+                    currentDepth + 1, plan);
+            if (subresult != null) {
+                badValueMessages.addAllIssuesOf(subresult);
             }
         } else if (o1 instanceof Collection && o2 instanceof Collection) {
-            collectBadValueMessagesFromCollection(fieldPrefix, subfield, (Collection<?>) o1, (Collection<?>) o2,
-                    currentDepth + 1, maxMessageDepth, badValueMessages);
+            collectBadValueMessagesFromCollection(rootFieldPrefix, subfield, (Collection<?>) o1, (Collection<?>) o2,
+                    currentDepth + 1, maxMessageDepth, badValueMessages, plan);
         } else {
-            Object outcome = compareValues(subfield, o1, o2, currentDepth + 1, maxMessageDepth);
+            Object outcome = compareValues(subfield, o1, o2, currentDepth + 1, maxMessageDepth,
+                    VerificationPlan.placeholderOf(o1, plan));
             if (!Boolean.TRUE.equals(outcome)) {
-                if (outcome instanceof String) {
-                    badValueMessages.add((String) outcome);
-                } else {
-                    badValueMessages.add(subfield);
-                }
+                addBadValueMessage(outcome, subfield::toString, badValueMessages);
             }
+        }
+    }
 
+    /**
+     * Adds the message of a failed outcome of {@link #compareValues}, falling back
+     * to the field given for outcomes without a message.
+     */
+    @SuppressWarnings("unchecked")
+    private void addBadValueMessage(Object outcome, Supplier<String> field, IssueMessages badValueMessages) {
+        if (outcome instanceof Supplier) {
+            badValueMessages.add((Supplier<String>) outcome);
+        } else {
+            badValueMessages.add(field);
         }
     }
 
-    private void addAnySizeBasedIssue(String fieldPrefix, Collection<?> expectedCollection,
+    private void addAnySizeBasedIssue(FieldPrefix fieldPrefix, Collection<?> expectedCollection,
             Collection<?> actualCollection, CollectionVerificationConfig verificationConfig,
-            List<String> badValueMessages) {
+            IssueMessages badValueMessages) {
 
         int expectedCount = expectedCollection.size() - (verificationConfig.isDefault() ? 0 : 1);
         int actualCount = actualCollection.size();
@@ -250,42 +568,26 @@ public class MapVerifier {
         switch (verificationConfig.getOperator()) {
         case EQUIVALENT:
             if (actualCount != expectedCount) {
-                badValueMessages.add(fieldPrefix + " has unexpected number of elements. Expected: "
+                badValueMessages.add(() -> fieldPrefix + " has unexpected number of elements. Expected: "
                         + expectedCollection.size() + ", but actual: " + actualCollection.size() + ".");
             }
             break;
         case SUBSET:
             if (actualCount > expectedCount) {
-                badValueMessages.add(fieldPrefix + " has unexpected number of elements. Expected <= "
+                badValueMessages.add(() -> fieldPrefix + " has unexpected number of elements. Expected <= "
                         + expectedCollection.size() + ", but actual: " + actualCollection.size() + ".");
             }
             break;
         case SUPERSET:
             if (actualCount < expectedCount) {
-                badValueMessages.add(fieldPrefix + " has unexpected number of elements. Expected >= "
+                badValueMessages.add(() -> fieldPrefix + " has unexpected number of elements. Expected >= "
                         + expectedCollection.size() + ", but actual: " + actualCollection.size() + ".");
             }
             break;
         }
     }
 
-    private Object pickItemToCompareWith(Object o1, Collection<?> collection, Iterator<?> iterator,
-            CollectionVerificationConfig verificationConfig) {
-        if (verificationConfig.getOrdering() == Ordering.ORDERED)
-            return iterator.next();
-        else {
-            if (isPrimitive(o1)) {
-                return collection.stream().filter(element -> Objects.equals(element, o1)).findFirst().orElse(null);
-            } else {
-                return collection.stream()
-                    .filter(element -> Objects.equals(getIdValueIn(element, verificationConfig.getElementId()),
-                            getIdValueIn(o1, verificationConfig.getElementId())))
-                    .findFirst().orElse(null);
-            }
-        }
-    }
-
-    private CollectionVerificationConfig getVerificationConfigFrom(Collection<?> collection) {
+    static CollectionVerificationConfig getVerificationConfigFrom(Collection<?> collection) {
         if (collection == null || collection.isEmpty())
             return CollectionVerificationConfig.DEFAULT;
         Object firstElement = collection.iterator().next();
@@ -311,23 +613,31 @@ public class MapVerifier {
         return CollectionVerificationConfig.DEFAULT;
     }
 
-    private Object compareValues(String commonKey, Object expectedValue, Object actualValue, int currentDepth,
-            int maxMessageDepth) {
+    /**
+     * Returns {@link Boolean#TRUE} if the values match, or else either a supplier
+     * of the message describing the mismatch, or a Boolean if no message is to be
+     * reported at the current depth. The field is a name or a {@link FieldPrefix},
+     * rendered only into the message, and the placeholder is that of the expected
+     * value, if any.
+     */
+    private Object compareValues(Object field, Object expectedValue, Object actualValue, int currentDepth,
+            int maxMessageDepth, ExpectedValuePlaceholder expectedValuePlaceholder) {
         boolean justCompare = currentDepth > maxMessageDepth;
-        if (actualAcceptedByPlaceholder(expectedValue, actualValue)) {
+        if (expectedValuePlaceholder != null && expectedValuePlaceholder.accepts(actualValue)) {
             return Boolean.TRUE;
         } else if (expectedValue == actualValue) {
             return Boolean.TRUE;
         } else if (expectedValue == null) {
-            return justCompare ? Boolean.FALSE : "Must be null: " + commonKey;
+            return justCompare ? Boolean.FALSE : (Supplier<String>) () -> "Must be null: " + field;
         } else if (actualValue == null) {
-            return justCompare ? canAcceptNullFor(expectedValue) : "Must be non-null: " + commonKey;
+            return justCompare ? canAcceptNullFor(expectedValue, expectedValuePlaceholder)
+                    : (Supplier<String>) () -> "Must be non-null: " + field;
         } else {
-            return compareNonNullLiteral(commonKey, expectedValue, actualValue, justCompare);
+            return compareNonNullLiteral(field, expectedValue, actualValue, justCompare);
         }
     }
 
-    private Object compareNonNullLiteral(String fieldName, Object expectedValue, Object actualValue,
+    private Object compareNonNullLiteral(Object field, Object expectedValue, Object actualValue,
             boolean justCompare) {
         if (!caseSensitiveForStrings && expectedValue instanceof String && actualValue instanceof String
                 && ((String) expectedValue).equalsIgnoreCase((String) actualValue)) {
@@ -337,48 +647,190 @@ public class MapVerifier {
             return Boolean.TRUE;
         }
         return justCompare ? Boolean.FALSE
-                : fieldName + ": expected '" + expectedValue + "' but got '" + actualValue + "'";
+                : (Supplier<String>) () -> field + ": expected '" + expectedValue + "' but got '" + actualValue + "'";
     }
 
-    private boolean isExpectedToBeAvailableInActual(Object expectedValue) {
-        if (expectedValue instanceof String) {
-            ExpectedValuePlaceholder expectedValuePlaceholder = ExpectedValuePlaceholder
-                    .getByValue((String) expectedValue);
-            if (expectedValuePlaceholder != null) {
-                return !expectedValuePlaceholder.isNullable();
-            }
-        }
-        return true;
+    private boolean isExpectedToBeAvailableInActual(ExpectedValuePlaceholder expectedValuePlaceholder) {
+        return expectedValuePlaceholder == null || !expectedValuePlaceholder.isNullable();
     }
 
-    private Boolean canAcceptNullFor(Object expectedValue) {
+    private Boolean canAcceptNullFor(Object expectedValue, ExpectedValuePlaceholder expectedValuePlaceholder) {
         if (!(expectedValue instanceof String)) {
             return Boolean.FALSE;
         }
-        return isNullablePlaceholder((String) expectedValue);
-    }
-
-    private boolean isNullablePlaceholder(String strExpectedValue) {
-        ExpectedValuePlaceholder expectedValuePlaceholder = ExpectedValuePlaceholder.getByValue(strExpectedValue);
         return expectedValuePlaceholder == null ? true : expectedValuePlaceholder.isNullable();
     }
 
-    private boolean isNoneNullablePlaceholder(Object value) {
+    private boolean isNoneNullablePlaceholder(Object value, ExpectedValuePlaceholder expectedValuePlaceholder) {
         if (!(value instanceof String)) {
             return false;
         }
-        ExpectedValuePlaceholder expectedValuePlaceholder = ExpectedValuePlaceholder.getByValue((String) value);
         return expectedValuePlaceholder == null ? true : !expectedValuePlaceholder.isNullable();
     }
 
-    private boolean actualAcceptedByPlaceholder(Object expectedValue, Object actualValue) {
-        if (expectedValue instanceof String) {
-            ExpectedValuePlaceholder expectedValuePlaceholder = ExpectedValuePlaceholder
-                    .getByValue((String) expectedValue);
-            if (expectedValuePlaceholder != null) {
-                return expectedValuePlaceholder.accepts(actualValue);
+    private boolean isIssueBudgetExhausted() {
+        return issueBudget != null && issueBudget.isExhausted();
+    }
+
+    private void spendIssueBudget() {
+        if (issueBudget != null)
+            issueBudget.spend();
+    }
+
+    /**
+     * The number of issues a verification may still find before it stops.
+     */
+    private static final class IssueBudget {
+
+        private int remaining;
+
+        private IssueBudget(int maxIssues) {
+            this.remaining = maxIssues;
+        }
+
+        private void spend() {
+            remaining--;
+        }
+
+        private boolean isExhausted() {
+            return remaining <= 0;
+        }
+    }
+
+    private static <T> List<T> addTo(List<T> list, T element) {
+        List<T> target = list != null ? list : new ArrayList<>();
+        target.add(element);
+        return target;
+    }
+
+    private static <T> List<T> orNewList(List<T> list) {
+        return list != null ? list : new ArrayList<>();
+    }
+
+    /**
+     * The prefix of a field being verified, kept as the prefix it extends and its
+     * own segment, and rendered only when a message about the field is.
+     */
+    private static final class FieldPrefix {
+
+        private final FieldPrefix parent;
+        private final String opening;
+        private final Object segment;
+        private final String closing;
+        private String text;
+
+        private FieldPrefix(FieldPrefix parent, String opening, Object segment, String closing) {
+            this.parent = parent;
+            this.opening = opening;
+            this.segment = segment;
+            this.closing = closing;
+        }
+
+        private static FieldPrefix of(String text) {
+            FieldPrefix root = new FieldPrefix(null, null, null, null);
+            root.text = text;
+            return root;
+        }
+
+        private FieldPrefix field(String name) {
+            return new FieldPrefix(this, ".", name, "");
+        }
+
+        private FieldPrefix element(Object indexOrId) {
+            return new FieldPrefix(this, "[", indexOrId, "]");
+        }
+
+        @Override
+        public String toString() {
+            if (parent == null)
+                return text;
+            String rendered = text;
+            if (rendered == null) {
+                rendered = parent + opening + segment + closing;
+                text = rendered;
             }
+            return rendered;
+        }
+    }
+
+    /**
+     * Bad value messages, recorded as they are found and rendered into text the
+     * first time the list is read, which for a verified map is never. A record is
+     * either a message supplier or a failed result of an element, all issues of
+     * which are rendered in its place. Each message supplier added is spent from
+     * the issue budget, if any.
+     */
+    private static final class IssueMessages extends AbstractList<String> {
+
+        private final IssueBudget issueBudget;
+        private List<Object> records;
+        private List<String> messages;
+
+        private IssueMessages(IssueBudget issueBudget) {
+            this.issueBudget = issueBudget;
+        }
+
+        private void add(Supplier<String> message) {
+            records = addTo(records, message);
+            if (issueBudget != null)
+                issueBudget.spend();
+        }
+
+        private void addAllIssuesOf(MapVerificationResult result) {
+            records = addTo(records, result);
+        }
+
+        private void addAllRecordsOf(IssueMessages messages) {
+            if (messages.records != null) {
+                for (Object record : messages.records)
+                    records = addTo(records, record);
+            }
+        }
+
+        private boolean hasRecords() {
+            return records != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized List<String> render() {
+            if (messages == null) {
+                messages = new ArrayList<>();
+                if (records != null) {
+                    for (Object record : records) {
+                        if (record instanceof MapVerificationResult)
+                            messages.addAll(((MapVerificationResult) record).getAllIssues());
+                        else
+                            messages.add(((Supplier<String>) record).get());
+                    }
+                    records = null;
+                }
+            }
+            return messages;
+        }
+
+        @Override
+        public String get(int index) {
+            return render().get(index);
+        }
+
+        @Override
+        public int size() {
+            return render().size();
+        }
+
+        @Override
+        public String set(int index, String element) {
+            return render().set(index, element);
+        }
+
+        @Override
+        public void add(int index, String element) {
+            render().add(index, element);
+        }
+
+        @Override
+        public String remove(int index) {
+            return render().remove(index);
         }
-        return false;
     }
 }
@@ -1,14 +1,32 @@
 package uk.gov.hmcts.befta.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
-import java.util.Arrays;
+import java.lang.reflect.Modifier;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReflectionUtils {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Getters found so far per class and field name, empty where the class has no
+     * public getter for the field.
+     */
+    private static final ClassValue<Map<String, Optional<MethodHandle>>> GETTERS =
+            new ClassValue<Map<String, Optional<MethodHandle>>>() {
+                @Override
+                protected Map<String, Optional<MethodHandle>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     public static Object deepGetFieldInObject(Object object, String fieldPath) throws Exception {
         if (object == null) {
             return null;
@@ -16,16 +34,11 @@ public class ReflectionUtils {
         if (fieldPath == null || fieldPath.length() == 0) {
             throw new IllegalArgumentException("Field path must be non-empty String.");
         }
-        final String regex = "(?<!\\\\)(?:\\\\\\\\)*\\."; // i.e. look for '.' but not the escaped version '\.'
-        String[] rawFields = fieldPath.split(regex);
-        // unescape fields
-        List<String> fields = Arrays.stream(rawFields)
-                .map(field -> field.replace("\\.", "."))
-                .collect(Collectors.toList());
-
-        Object fieldValue = retrieveFieldInObject(object, fields.get(0));
-        for (int i = 1; i < fields.size(); i++) {
-            fieldValue = retrieveFieldInObject(fieldValue, fields.get(i));
+        FieldPath path = FieldPath.of(fieldPath);
+
+        Object fieldValue = retrieveFieldInObject(object, path.getStep(0));
+        for (int i = 1; i < path.size(); i++) {
+            fieldValue = retrieveFieldInObject(fieldValue, path.getStep(i));
         }
         return fieldValue;
     }
@@ -35,31 +48,57 @@ public class ReflectionUtils {
             return null;
         if (fieldName == null || fieldName.length() == 0)
             throw new IllegalArgumentException("fieldName must be non-empty String.");
+        return retrieveFieldInObject(object, FieldPath.Step.of(fieldName));
+    }
 
-        int fieldIndex = -1;
-        if (fieldName.contains("[")) {
-            fieldIndex = Integer.parseInt(fieldName.substring(fieldName.indexOf("[") + 1, fieldName.length() - 1));
-            fieldName = fieldName.substring(0, fieldName.indexOf("["));
-        }
+    static Object retrieveFieldInObject(Object object, FieldPath.Step step) throws Exception {
+        if (object == null)
+            return null;
+        if (step.getField().length() == 0)
+            throw new IllegalArgumentException("fieldName must be non-empty String.");
 
-        String getterName = "get" + StringUtils.firstLetterToUpperCase(fieldName);
+        int fieldIndex = step.getIndex();
+        String fieldName = step.getName();
 
-        Throwable thrown = null;
-        Object valueFound = null;
-        try {
-            Method method = object.getClass().getMethod(getterName);
-            valueFound = method.invoke(object);
-        } catch (Throwable t) {
-            thrown = t;
-        }
-        if (object instanceof Map)
+        Object valueFound;
+        if (object instanceof Map) {
             valueFound = ((Map<?, ?>) object).get(fieldName);
-        else if (thrown != null)
-            throw new NoSuchFieldException(fieldName + " not retrievable from " + object + ".");
+        } else {
+            MethodHandle getter = getterOf(object.getClass(), fieldName);
+            if (getter == null)
+                throw new NoSuchFieldException(fieldName + " not retrievable from " + object + ".");
+            try {
+                valueFound = getter.invokeExact(object);
+            } catch (Throwable t) {
+                throw new NoSuchFieldException(fieldName + " not retrievable from " + object + ".");
+            }
+        }
 
         return getValueToReturnFrom(valueFound, fieldIndex);
     }
 
+    private static MethodHandle getterOf(Class<?> type, String fieldName) {
+        Map<String, Optional<MethodHandle>> getters = GETTERS.get(type);
+        Optional<MethodHandle> getter = getters.get(fieldName);
+        if (getter == null) {
+            getter = Optional.ofNullable(findGetter(type, fieldName));
+            getters.put(fieldName, getter);
+        }
+        return getter.orElse(null);
+    }
+
+    private static MethodHandle findGetter(Class<?> type, String fieldName) {
+        try {
+            Method method = type.getMethod("get" + StringUtils.firstLetterToUpperCase(fieldName));
+            MethodHandle getter = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers()))
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            return getter.asType(GETTER_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
     private static Object getValueToReturnFrom(Object valueFound, int fieldIndex) {
         if (fieldIndex < 0)
             return valueFound;
@@ -0,0 +1,174 @@
+package uk.gov.hmcts.befta.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import uk.gov.hmcts.befta.data.CollectionVerificationConfig;
+
+/**
+ * An expected map analysed once for verification: the placeholder of each of
+ * its values and the verification config of each of its collections, in a tree
+ * following the structure of the map.
+ * <p>
+ * A plan is compiled from an expected map as it is loaded as test data, before
+ * any dynamic value is injected into the copy of it which is verified, and is
+ * shared by the verifications of all copies of the same map. The plan of a
+ * value applies only as long as the value in the copy is the very string it is
+ * planned for, and collections with any dynamic content in their config are
+ * left out of the plan, so that whatever is injected is analysed every time it
+ * is verified.
+ */
+public final class VerificationPlan {
+
+    private static final int MAX_CACHED_PLANS = 50000;
+
+    private static final Cache<Map<String, Object>, VerificationPlan> PLANS = CacheBuilder.newBuilder()
+            .weakKeys().maximumSize(MAX_CACHED_PLANS).build();
+
+    private final Map<String, VerificationPlan> fields;
+    private final CollectionVerificationConfig collectionConfig;
+    private final List<VerificationPlan> elements;
+    private final String value;
+    private final ExpectedValuePlaceholder placeholder;
+
+    private VerificationPlan(Map<String, VerificationPlan> fields, CollectionVerificationConfig collectionConfig,
+            List<VerificationPlan> elements, String value, ExpectedValuePlaceholder placeholder) {
+        this.fields = fields;
+        this.collectionConfig = collectionConfig;
+        this.elements = elements;
+        this.value = value;
+        this.placeholder = placeholder;
+    }
+
+    /**
+     * Returns the plan of an expected map, compiled on the first call for the
+     * map instance given, or null for a null map. The map must not be changed
+     * once it is planned.
+     */
+    public static VerificationPlan of(Map<String, Object> expectedMap) {
+        if (expectedMap == null) {
+            return null;
+        }
+        VerificationPlan plan = PLANS.getIfPresent(expectedMap);
+        if (plan == null) {
+            plan = ofMap(expectedMap);
+            PLANS.put(expectedMap, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the plan of a field of a planned map, or null if there is none.
+     */
+    static VerificationPlan fieldOf(VerificationPlan plan, String field) {
+        return plan == null || plan.fields == null ? null : plan.fields.get(field);
+    }
+
+    /**
+     * Returns the plan of an element of a planned collection, counting from the
+     * first element after any verification config, or null if there is none.
+     */
+    static VerificationPlan elementOf(VerificationPlan plan, int index) {
+        return plan == null || plan.elements == null || index >= plan.elements.size() ? null
+                : plan.elements.get(index);
+    }
+
+    /**
+     * Returns the verification config of a planned collection, or null if it is
+     * not planned.
+     */
+    static CollectionVerificationConfig collectionConfigOf(VerificationPlan plan) {
+        return plan == null ? null : plan.collectionConfig;
+    }
+
+    /**
+     * Returns the placeholder of an expected value, as planned if the value is
+     * the one planned, or else as looked up.
+     */
+    static ExpectedValuePlaceholder placeholderOf(Object expectedValue, VerificationPlan plan) {
+        if (!(expectedValue instanceof String)) {
+            return null;
+        }
+        if (plan != null && plan.value == expectedValue) {
+            return plan.placeholder;
+        }
+        return ExpectedValuePlaceholder.getByValue((String) expectedValue);
+    }
+
+    private static VerificationPlan ofMap(Map<String, Object> expectedMap) {
+        Map<String, VerificationPlan> fields = new HashMap<>();
+        for (Map.Entry<String, Object> expectedEntry : expectedMap.entrySet()) {
+            VerificationPlan fieldPlan = ofValue(expectedEntry.getValue());
+            if (fieldPlan != null) {
+                fields.put(expectedEntry.getKey(), fieldPlan);
+            }
+        }
+        return new VerificationPlan(fields, null, null, null, null);
+    }
+
+    private static VerificationPlan ofCollection(Collection<?> expectedCollection) {
+        CollectionVerificationConfig config;
+        try {
+            config = MapVerifier.getVerificationConfigFrom(expectedCollection);
+        } catch (RuntimeException e) {
+            // left to fail when, and only if, the collection is verified
+            return null;
+        }
+        Iterator<?> itrExpected = expectedCollection.iterator();
+        if (itrExpected.hasNext()) {
+            // the config of the collection, or a first element which might be
+            // injected as one
+            Object firstElement = config.isDefault() ? expectedCollection.iterator().next() : itrExpected.next();
+            if ((!config.isDefault() || !(firstElement instanceof Map)) && hasDynamicContent(firstElement)) {
+                return null;
+            }
+        }
+        List<VerificationPlan> elements = new ArrayList<>();
+        while (itrExpected.hasNext()) {
+            elements.add(ofValue(itrExpected.next()));
+        }
+        return new VerificationPlan(null, config, elements, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VerificationPlan ofValue(Object expectedValue) {
+        if (expectedValue instanceof Map<?, ?>) {
+            return ofMap((Map<String, Object>) expectedValue);
+        } else if (expectedValue instanceof ArrayList<?>) {
+            return ofCollection((Collection<?>) expectedValue);
+        } else if (expectedValue instanceof Iterable<?>
+                || (expectedValue != null && expectedValue.getClass().isArray())) {
+            // turned into lists, with values injected, by DynamicValueInjector
+            return null;
+        } else if (expectedValue instanceof String) {
+            String value = (String) expectedValue;
+            return new VerificationPlan(null, null, null, value, ExpectedValuePlaceholder.getByValue(value));
+        }
+        return null;
+    }
+
+    private static boolean hasDynamicContent(Object value) {
+        if (value instanceof String) {
+            return !((String) value).isEmpty() && !DynamicValueTemplate.of((String) value).isStatic();
+        } else if (value instanceof Map<?, ?>) {
+            for (Object fieldValue : ((Map<?, ?>) value).values()) {
+                if (hasDynamicContent(fieldValue))
+                    return true;
+            }
+        } else if (value instanceof Iterable<?>) {
+            for (Object element : (Iterable<?>) value) {
+                if (hasDynamicContent(element))
+                    return true;
+            }
+        }
+        return value != null && value.getClass().isArray();
+    }
+
+}
@@ -1,16 +1,57 @@
 package uk.gov.hmcts.jsonstore;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import uk.gov.hmcts.befta.exception.InvalidTestDataException;
 
 public class JsonFileStoreWithInheritance extends JsonStoreWithInheritance {
 
+    private static final Logger logger = LoggerFactory.getLogger(JsonFileStoreWithInheritance.class);
+
     private File location;
     private ObjectMapper mapper = new ObjectMapper();
 
+    private volatile WatchService watchService;
+    private final Map<File, JsonNode> nodesPerFile = new ConcurrentHashMap<>();
+    private final Map<File, Set<String>> keysPerFile = new HashMap<>();
+    private final Map<String, File> filesByKey = new HashMap<>();
+    private final Set<File> changedFiles = ConcurrentHashMap.newKeySet();
+    private volatile boolean changesLost = false;
+
     public JsonFileStoreWithInheritance(File location) {
         super();
         this.location = location;
@@ -26,18 +67,38 @@ public class JsonFileStoreWithInheritance extends JsonStoreWithInheritance {
         rootNode = buildObjectStoreIn(location);
     }
 
-    private JsonNode buildObjectStoreIn(File location) throws Exception {
+    @Override
+    protected HashCode computeContentHash() throws IOException {
+        if (watchService != null)
+            return null;
+        Path root = location.toPath();
+        List<HashCode> fileHashes;
+        try (Stream<Path> paths = Files.walk(root)) {
+            fileHashes = paths.filter(path -> Files.isRegularFile(path)
+                    && path.getFileName().toString().toLowerCase().endsWith(".json")).sorted()
+                    .collect(Collectors.toList()).parallelStream().map(path -> hashFile(root, path))
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return fileHashes.isEmpty() ? null : Hashing.combineOrdered(fileHashes);
+    }
+
+    private HashCode hashFile(Path root, Path file) {
+        try {
+            return Hashing.sha256().newHasher()
+                    .putString(root.relativize(file).toString(), StandardCharsets.UTF_8)
+                    .putBytes(Files.readAllBytes(file)).hash();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode buildObjectStoreIn(File location) throws IOException {
         if (!location.isDirectory())
             return buildObjectStoreInAFile(location);
-        File[] subfiles = location.listFiles();
         ArrayNode store = new ArrayNode(null);
-        for (File subfile : subfiles) {
-            JsonNode substore = null;
-            if (subfile.isDirectory())
-                substore = buildObjectStoreIn(subfile);
-            else if (subfile.getName().toLowerCase().endsWith(".json"))
-                substore = buildObjectStoreInAFile(subfile);
-
+        for (JsonNode substore : parseSubfilesInParallel(location.listFiles())) {
             if (substore != null) {
                 String guid = substore.get(GUID).asText();
                 validateGUID(guid);
@@ -53,7 +114,262 @@ public class JsonFileStoreWithInheritance extends JsonStoreWithInheritance {
         return store;
     }
 
-    private JsonNode buildObjectStoreInAFile(File file) throws Exception {
-        return mapper.readTree(file);
+    /**
+     * Parses the files and subdirectories concurrently, returning the parsed nodes
+     * in the order of the given files so that they are merged into the store in
+     * the same order every time. A file that cannot be parsed fails with the
+     * exception thrown by the parser, as it would when parsing one file at a time.
+     */
+    private List<JsonNode> parseSubfilesInParallel(File[] subfiles) throws IOException {
+        try {
+            return Arrays.stream(subfiles).parallel().map(subfile -> {
+                try {
+                    if (subfile.isDirectory())
+                        return buildObjectStoreIn(subfile);
+                    else if (subfile.getName().toLowerCase().endsWith(".json"))
+                        return buildObjectStoreInAFile(subfile);
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private JsonNode buildObjectStoreInAFile(File file) throws IOException {
+        JsonNode node = mapper.readTree(file);
+        if (watchService != null)
+            nodesPerFile.put(file.getAbsoluteFile(), node);
+        return node;
+    }
+
+    /**
+     * Starts watching the location of the store for changes in its json files.
+     * Once started, a changed file is parsed again on the next lookup. Only the
+     * objects in that file, and the objects inheriting from them, are dropped
+     * from the store and reloaded. Everything else stays as it is.
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watchService != null)
+            return;
+        watchService = FileSystems.getDefault().newWatchService();
+        if (location.isDirectory())
+            registerDirectoriesIn(location.toPath().toAbsolutePath());
+        else
+            registerDirectory(location.getAbsoluteFile().getParentFile().toPath());
+        clearStore();
+        Thread watcher = new Thread(this::watchForChanges, "befta-json-file-store-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public synchronized void stopWatching() throws IOException {
+        if (watchService == null)
+            return;
+        watchService.close();
+        watchService = null;
+        nodesPerFile.clear();
+        keysPerFile.clear();
+        filesByKey.clear();
+        changedFiles.clear();
+    }
+
+    public boolean isWatching() {
+        return watchService != null;
+    }
+
+    @Override
+    protected boolean isLibraryMutable() {
+        return isWatching();
+    }
+
+    void notifyChanged(File file) {
+        changedFiles.add(file.getAbsoluteFile());
+    }
+
+    @Override
+    protected void clearStore() {
+        super.clearStore();
+        nodesPerFile.clear();
+        keysPerFile.clear();
+        filesByKey.clear();
+        changedFiles.clear();
+        changesLost = false;
+    }
+
+    @Override
+    protected void addAllToLibrary() throws Exception {
+        if (watchService == null) {
+            super.addAllToLibrary();
+            return;
+        }
+        for (Map.Entry<File, JsonNode> entry : new TreeMap<>(nodesPerFile).entrySet())
+            addFileToLibrary(entry.getKey(), entry.getValue());
+        nodesPerFile.clear();
+    }
+
+    @Override
+    protected void refreshStore() throws Exception {
+        if (changesLost) {
+            clearStore();
+        } else if (!changedFiles.isEmpty()) {
+            Set<File> files = new HashSet<>(changedFiles);
+            changedFiles.removeAll(files);
+            try {
+                if (!reloadFiles(files))
+                    changedFiles.addAll(files);
+            } catch (Exception e) {
+                // retried on every lookup until the files are fixed
+                changedFiles.addAll(files);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reloads the given files and the files inheriting from them. Returns false,
+     * leaving the library as it was, if a file inheriting from them cannot be
+     * parsed, so that the reload is retried on the next lookup.
+     */
+    private boolean reloadFiles(Set<File> files) throws Exception {
+        long start = System.currentTimeMillis();
+        Map<File, JsonNode> parsedNodes = new HashMap<>();
+        Set<File> filesToReload = new HashSet<>();
+        Set<String> changedKeys = new HashSet<>();
+        for (File file : files) {
+            if (file.isFile()) {
+                try {
+                    parsedNodes.put(file, mapper.readTree(file));
+                } catch (IOException e) {
+                    logger.warn("Keeping previous content of {} as it cannot be parsed.", file, e);
+                    continue;
+                }
+            }
+            filesToReload.add(file);
+            Set<String> keys = keysPerFile.get(file);
+            if (keys != null)
+                changedKeys.addAll(keys);
+        }
+        for (String descendantKey : getDescendantKeysOf(changedKeys)) {
+            File file = filesByKey.get(descendantKey);
+            if (file != null)
+                filesToReload.add(file);
+        }
+        for (File file : filesToReload) {
+            if (!parsedNodes.containsKey(file) && file.isFile()) {
+                try {
+                    parsedNodes.put(file, mapper.readTree(file));
+                } catch (IOException e) {
+                    logger.warn("Keeping previous content of {} and the files it inherits from as it cannot be parsed.",
+                            file, e);
+                    return false;
+                }
+            }
+        }
+        validateGUIDs(parsedNodes, filesToReload);
+
+        for (File file : filesToReload) {
+            Set<String> keys = keysPerFile.remove(file);
+            if (keys != null) {
+                removeFromLibrary(keys);
+                keys.forEach(filesByKey::remove);
+            }
+        }
+        for (File file : filesToReload) {
+            JsonNode node = parsedNodes.get(file);
+            if (node != null)
+                addFileToLibrary(file, node);
+        }
+        double seconds = (System.currentTimeMillis() - start) / 1000.0;
+        logger.info("Reloaded {} test data file(s) in {} seconds.", filesToReload.size(), seconds);
+        return true;
+    }
+
+    /**
+     * Checks that no object in the files to reload has the id of an object in
+     * another file, before anything is removed from the library.
+     */
+    private void validateGUIDs(Map<File, JsonNode> parsedNodes, Set<File> filesToReload) {
+        Map<String, File> reloadedFilesByKey = new HashMap<>();
+        for (Map.Entry<File, JsonNode> entry : new TreeMap<>(parsedNodes).entrySet())
+            validateGUIDs(entry.getKey(), entry.getValue(), filesToReload, reloadedFilesByKey);
+    }
+
+    private void validateGUIDs(File file, JsonNode node, Set<File> filesToReload,
+            Map<String, File> reloadedFilesByKey) {
+        if (node.has(idFieldName)) {
+            String guid = node.get(idFieldName).asText();
+            File fileWithGuid = reloadedFilesByKey.putIfAbsent(guid, file);
+            if (fileWithGuid == null) {
+                File loadedFile = filesByKey.get(guid);
+                if (loadedFile != null && !filesToReload.contains(loadedFile))
+                    fileWithGuid = loadedFile;
+            }
+            if (fileWithGuid != null && !fileWithGuid.equals(file))
+                throw new InvalidTestDataException(
+                        "Object with _guid_=" + guid + " in " + file + " already exists in " + fileWithGuid);
+        }
+        for (JsonNode child : node)
+            validateGUIDs(file, child, filesToReload, reloadedFilesByKey);
+    }
+
+    private void addFileToLibrary(File file, JsonNode node) throws Exception {
+        Set<String> keys = new HashSet<>();
+        addToLibrary(node, keys);
+        keysPerFile.put(file, keys);
+        for (String key : keys)
+            filesByKey.put(key, file);
+    }
+
+    private void watchForChanges() {
+        WatchService watchService = this.watchService;
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        changesLost = true;
+                        continue;
+                    }
+                    Path path = directory.resolve((Path) event.context());
+                    if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                        registerDirectoriesIn(path);
+                        try (Stream<Path> paths = Files.walk(path)) {
+                            paths.filter(this::isJsonFileInStore).forEach(file -> notifyChanged(file.toFile()));
+                        }
+                    } else if (isJsonFileInStore(path)) {
+                        notifyChanged(path.toFile());
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // watching stopped
+        } catch (IOException e) {
+            logger.error("Stopped watching {} for changes.", location, e);
+        }
+    }
+
+    private boolean isJsonFileInStore(Path path) {
+        if (!path.getFileName().toString().toLowerCase().endsWith(".json"))
+            return false;
+        Path root = location.toPath().toAbsolutePath();
+        return location.isDirectory() ? path.startsWith(root) : path.equals(root);
+    }
+
+    private void registerDirectoriesIn(Path root) throws IOException {
+        List<Path> directories;
+        try (Stream<Path> paths = Files.walk(root)) {
+            directories = paths.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+        for (Path directory : directories)
+            registerDirectory(directory);
+    }
+
+    private void registerDirectory(Path directory) throws IOException {
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
     }
 }
@@ -0,0 +1,239 @@
+package uk.gov.hmcts.jsonstore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.google.common.io.ByteStreams;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import uk.gov.hmcts.befta.exception.JsonStoreCreationException;
+
+/**
+ * A resource store that reads its resources once with a streaming parser at
+ * load time, only recording where each object with an id lies in them. An
+ * object is parsed from its resource when it, or an object inheriting from it,
+ * is first looked up, so that the memory the store takes grows with the
+ * objects in use rather than with all the objects in the resources. Resources
+ * which are plain files on disk are read at the position of the object for
+ * those reads.
+ * <p>
+ * Inheritance is always resolved on demand in this store.
+ */
+public class JsonIndexedResourceStoreWithInheritance extends JsonStoreWithInheritance {
+
+    private String[] resourcePaths;
+
+    private ObjectMapper mapper = new ObjectMapper();
+
+    private Map<String, NodeLocation> nodeLocations = new HashMap<>();
+
+    public JsonIndexedResourceStoreWithInheritance(String[] resourcePaths) {
+        super();
+        this.resourcePaths = resourcePaths;
+        initialise();
+    }
+
+    public JsonIndexedResourceStoreWithInheritance(String[] resourcePaths, String idFieldName,
+            String inheritanceFieldName) {
+        super(idFieldName, inheritanceFieldName);
+        this.resourcePaths = resourcePaths;
+        initialise();
+    }
+
+    private void initialise() {
+        nodeLibrary = new IndexedNodeLibrary();
+        inheritanceResolution = InheritanceResolution.ON_DEMAND;
+    }
+
+    @Override
+    public void setInheritanceResolution(InheritanceResolution inheritanceResolution) {
+        if (inheritanceResolution != InheritanceResolution.ON_DEMAND)
+            throw new UnsupportedOperationException(
+                    "Inheritance can only be resolved on demand in an indexed store.");
+        super.setInheritanceResolution(inheritanceResolution);
+    }
+
+    @Override
+    protected void buildObjectStore() throws Exception {
+        nodeLocations.clear();
+        for (String resource : resourcePaths) {
+            if (resource.toLowerCase().endsWith(".json"))
+                indexResource(resource);
+        }
+        // the index stands in for the content, which is only parsed on lookups
+        rootNode = MissingNode.getInstance();
+    }
+
+    @Override
+    protected void addAllToLibrary() {
+    }
+
+    private void indexResource(String resource) {
+        File file = getResourceFile(resource);
+        try (InputStream inputStream = getResourceAsStream(resource);
+                JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            List<Long> objectStarts = new ArrayList<>();
+            List<String> objectIds = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    objectStarts.add(parser.getTokenLocation().getByteOffset());
+                    objectIds.add(null);
+                } else if (token == JsonToken.FIELD_NAME && idFieldName.equals(parser.getCurrentName())) {
+                    if (parser.nextToken().isScalarValue())
+                        objectIds.set(objectIds.size() - 1, parser.getText());
+                    else
+                        parser.skipChildren();
+                } else if (token == JsonToken.END_OBJECT) {
+                    int depth = objectStarts.size() - 1;
+                    long start = objectStarts.remove(depth);
+                    String id = objectIds.remove(depth);
+                    if (id != null) {
+                        if (depth == 0) {
+                            validateGUID(id);
+                            processedGUIDs.add(id);
+                        }
+                        long end = parser.getCurrentLocation().getByteOffset();
+                        nodeLocations.put(id, new NodeLocation(resource, file, start, (int) (end - start)));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new JsonStoreCreationException("Unable to index test data resource " + resource + ".", e);
+        }
+    }
+
+    private JsonNode parseNodeAt(NodeLocation location) {
+        try {
+            return mapper.readTree(readBytesAt(location));
+        } catch (IOException e) {
+            throw new JsonStoreCreationException("Unable to parse test data resource " + location.resource + ".", e);
+        }
+    }
+
+    private byte[] readBytesAt(NodeLocation location) throws IOException {
+        byte[] bytes = new byte[location.length];
+        if (location.file != null) {
+            try (FileChannel channel = FileChannel.open(location.file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, location.start + buffer.position()) < 0)
+                        throw new EOFException("Resource " + location.resource + " ended before the object at "
+                                + location.start + ".");
+                }
+            }
+        } else {
+            try (InputStream inputStream = getResourceAsStream(location.resource)) {
+                ByteStreams.skipFully(inputStream, location.start);
+                ByteStreams.readFully(inputStream, bytes);
+            }
+        }
+        return bytes;
+    }
+
+    private InputStream getResourceAsStream(String resource) throws IOException {
+        InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream(resource);
+        if (inputStream == null)
+            throw new IOException("Resource " + resource + " not found.");
+        return inputStream;
+    }
+
+    private File getResourceFile(String resource) {
+        URL url = this.getClass().getClassLoader().getResource(resource);
+        if (url == null || !"file".equals(url.getProtocol()))
+            return null;
+        try {
+            return Paths.get(url.toURI()).toFile();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static class NodeLocation {
+
+        private final String resource;
+        // the resource as a file on disk, or null if it is not one
+        private final File file;
+        private final long start;
+        private final int length;
+
+        private NodeLocation(String resource, File file, long start, int length) {
+            this.resource = resource;
+            this.file = file;
+            this.start = start;
+            this.length = length;
+        }
+    }
+
+    /**
+     * The node library of the store, parsing a node from its location in the
+     * index the first time it is asked for.
+     */
+    private class IndexedNodeLibrary extends AbstractMap<String, JsonNode> {
+
+        private final Map<String, JsonNode> parsedNodes = new HashMap<>();
+
+        @Override
+        public JsonNode get(Object key) {
+            JsonNode node = parsedNodes.get(key);
+            if (node == null) {
+                NodeLocation location = nodeLocations.get(key);
+                if (location != null) {
+                    node = parseNodeAt(location);
+                    parsedNodes.put((String) key, node);
+                }
+            }
+            return node;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return parsedNodes.containsKey(key) || nodeLocations.containsKey(key);
+        }
+
+        @Override
+        public JsonNode put(String key, JsonNode node) {
+            return parsedNodes.put(key, node);
+        }
+
+        @Override
+        public JsonNode remove(Object key) {
+            nodeLocations.remove(key);
+            return parsedNodes.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            nodeLocations.clear();
+            parsedNodes.clear();
+        }
+
+        @Override
+        public Set<Map.Entry<String, JsonNode>> entrySet() {
+            Map<String, JsonNode> allNodes = nodeLocations.keySet().stream()
+                    .collect(Collectors.toMap(key -> key, this::get));
+            allNodes.putAll(parsedNodes);
+            return allNodes.entrySet();
+        }
+    }
+
+}
@@ -5,6 +5,18 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.MissingNode;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class JsonResourceStoreWithInheritance extends JsonStoreWithInheritance {
 
@@ -27,12 +39,33 @@ public class JsonResourceStoreWithInheritance extends JsonStoreWithInheritance {
         rootNode = buildObjectStoreInResourcePaths();
     }
 
+    @Override
+    protected HashCode computeContentHash() throws IOException {
+        if (resourcePaths.length == 0)
+            return null;
+        try {
+            List<HashCode> resourceHashes = Arrays.stream(resourcePaths).parallel().map(this::hashResource)
+                    .collect(Collectors.toList());
+            return Hashing.combineOrdered(resourceHashes);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private HashCode hashResource(String resource) {
+        try (InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream(resource)) {
+            Hasher hasher = Hashing.sha256().newHasher().putString(resource, StandardCharsets.UTF_8);
+            if (inputStream != null)
+                hasher.putBytes(ByteStreams.toByteArray(inputStream));
+            return hasher.hash();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private JsonNode buildObjectStoreInResourcePaths() throws Exception {
         ArrayNode store = new ArrayNode(null);
-        for (String resource : resourcePaths) {
-            JsonNode substore = null;
-            if (resource.toLowerCase().endsWith(".json"))
-                substore = buildObjectStoreInAResource(resource);
+        for (JsonNode substore : parseResourcesInParallel()) {
             if (substore != null && !substore.equals(MissingNode.getInstance())) {
                 String guid = substore.get(GUID).asText();
                 validateGUID(guid);
@@ -49,10 +82,32 @@ public class JsonResourceStoreWithInheritance extends JsonStoreWithInheritance {
         return store;
     }
 
-    private JsonNode buildObjectStoreInAResource(String resource) throws Exception {
+    /**
+     * Parses the resources concurrently, returning the parsed nodes in the order
+     * of the resource paths so that they are merged into the store in the same
+     * order every time. A resource that cannot be parsed fails with the exception
+     * thrown by the parser, as it would when parsing one resource at a time.
+     */
+    private List<JsonNode> parseResourcesInParallel() throws IOException {
+        try {
+            return Arrays.stream(resourcePaths).parallel().map(resource -> {
+                if (!resource.toLowerCase().endsWith(".json"))
+                    return null;
+                try {
+                    return buildObjectStoreInAResource(resource);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private JsonNode buildObjectStoreInAResource(String resource) throws IOException {
         try {
             return mapper.readTree(this.getClass().getClassLoader().getResourceAsStream(resource));
-        } catch (Exception e) {
+        } catch (IOException | RuntimeException e) {
             e.printStackTrace();
             throw e;
         }
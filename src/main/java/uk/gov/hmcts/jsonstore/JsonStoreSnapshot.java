@@ -0,0 +1,72 @@
+package uk.gov.hmcts.jsonstore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * An on-disk copy of a json store's node library with inheritance already
+ * applied, kept in Smile format together with the hash of the content it was
+ * compiled from.
+ */
+class JsonStoreSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonStoreSnapshot.class);
+
+    private static final String CONTENT_HASH = "contentHash";
+    private static final String LIBRARY = "library";
+
+    private static final ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+
+    private final File file;
+
+    JsonStoreSnapshot(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the node library in the snapshot, or null if there is no snapshot
+     * compiled from content with the given hash.
+     */
+    ObjectNode read(String contentHash) {
+        if (!file.isFile())
+            return null;
+        try {
+            JsonNode snapshot = mapper.readTree(file);
+            if (!contentHash.equals(snapshot.path(CONTENT_HASH).asText()))
+                return null;
+            JsonNode library = snapshot.get(LIBRARY);
+            return library instanceof ObjectNode ? (ObjectNode) library : null;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable json store snapshot {}.", file, e);
+            return null;
+        }
+    }
+
+    void write(String contentHash, Map<String, JsonNode> library) {
+        ObjectNode snapshot = JsonNodeFactory.instance.objectNode();
+        snapshot.put(CONTENT_HASH, contentHash);
+        ObjectNode libraryNode = snapshot.putObject(LIBRARY);
+        library.forEach((id, node) -> libraryNode.set(id, node));
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            directory.mkdirs();
+            File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+            mapper.writeValue(temporaryFile, snapshot);
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Unable to write json store snapshot {}.", file, e);
+        }
+    }
+}
@@ -3,18 +3,30 @@ package uk.gov.hmcts.jsonstore;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.BooleanNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import uk.gov.hmcts.befta.exception.InvalidTestDataException;
 import uk.gov.hmcts.befta.exception.ParentNotFoundException;
@@ -24,15 +36,35 @@ public abstract class JsonStoreWithInheritance {
 
     private static final String INHERITANCE_APPLIED = "inheritanceApplied";
     private static final String REPLACE_ARRAY_CONTENT = "__befta_replace__";
+    private static final String SNAPSHOT_FORMAT_VERSION = "1";
     protected static final String GUID = "_guid_";
     protected static final String EXTENDS = "_extends_";
+    protected static final int OBJECT_CACHE_SIZE_PER_TYPE = 1000;
 
     protected JsonNode rootNode;
     protected Map<String, JsonNode> nodeLibrary = new HashMap<>();
-    protected Map<Class<?>, Map<String, ?>> objectLibraryPerTypes = new HashMap<>();
+    protected Map<Class<?>, Cache<String, Object>> objectLibraryPerTypes = new ConcurrentHashMap<>();
     protected final String idFieldName;
     protected final String inheritanceFieldName;
     protected Set<String> processedGUIDs = Sets.newHashSet();
+    protected Map<String, String> parentIdsById = new HashMap<>();
+    protected InheritanceResolution inheritanceResolution = InheritanceResolution.EAGER;
+    protected File snapshotFile;
+
+    private volatile boolean loaded = false;
+    private volatile boolean allNodesResolved = false;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * EAGER resolves inheritance on every object in the store as soon as it is
+     * loaded. ON_DEMAND only checks the inheritance graph at load time, and
+     * resolves an object together with its ancestors when it is first asked for.
+     */
+    public static enum InheritanceResolution {
+        EAGER, ON_DEMAND
+    }
 
     public JsonStoreWithInheritance() {
         this(GUID, EXTENDS);
@@ -43,59 +75,227 @@ public abstract class JsonStoreWithInheritance {
         this.inheritanceFieldName = inheritanceFieldName;
     }
 
-    protected JsonNode getRootNode() throws Exception {
+    protected synchronized JsonNode getRootNode() throws Exception {
         if (rootNode == null)
             loadStore();
         return rootNode;
     }
 
-    protected Map<String, JsonNode> getNodeLibrary() throws Exception {
+    protected synchronized Map<String, JsonNode> getNodeLibrary() throws Exception {
+        prepareStore();
+        return nodeLibrary;
+    }
+
+    private void prepareStore() throws Exception {
+        if (rootNode != null)
+            refreshStore();
         if (rootNode == null)
             loadStore();
-        return nodeLibrary;
+    }
+
+    /**
+     * Whether the library can still change once the store is loaded, other than
+     * by resolving inheritance on demand. Lookups on such a store are always made
+     * under the lock of the store, so that they do not overlap with the changes.
+     */
+    protected boolean isLibraryMutable() {
+        return false;
+    }
+
+    /**
+     * Called before every lookup on a loaded store, so that subclasses can apply
+     * any changes in the content the store was built from. Clearing the store
+     * here makes it load again in full.
+     */
+    protected void refreshStore() throws Exception {
+    }
+
+    /**
+     * Discards everything loaded, so that the store is built again on the next
+     * lookup.
+     */
+    protected void clearStore() {
+        loaded = false;
+        rootNode = null;
+        nodeLibrary.clear();
+        parentIdsById.clear();
+        processedGUIDs.clear();
+        objectLibraryPerTypes.clear();
+        allNodesResolved = false;
     }
 
     private void loadStore() throws Exception {
         try {
+            JsonStoreSnapshot snapshot = null;
+            String snapshotKey = null;
+            if (snapshotFile != null) {
+                snapshot = new JsonStoreSnapshot(snapshotFile);
+                snapshotKey = computeSnapshotKey();
+                if (snapshotKey != null && loadFromSnapshot(snapshot, snapshotKey)) {
+                    loaded = true;
+                    return;
+                }
+            }
             buildObjectStore();
-            addToLibrary(rootNode);
-            for (String id : nodeLibrary.keySet())
-                inheritAndOverlayValuesFor(nodeLibrary.get(id));
-            removeInheritanceMechanismFields(rootNode);
+            addAllToLibrary();
+            if (inheritanceResolution == InheritanceResolution.ON_DEMAND && snapshotKey == null) {
+                validateInheritanceGraph();
+            } else {
+                for (String id : nodeLibrary.keySet())
+                    inheritAndOverlayValuesFor(nodeLibrary.get(id));
+                removeInheritanceMechanismFields(rootNode);
+                allNodesResolved = true;
+                if (snapshotKey != null)
+                    snapshot.write(snapshotKey, getNodesWithIds());
+            }
+            loaded = true;
         } catch (Exception e) {
             e.printStackTrace();
             throw e;
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> Map<String, T> getMapWithIds(Class<? extends T> clazz) throws Exception {
-        Map<String, T> objectLibrary = (Map<String, T>) objectLibraryPerTypes.get(clazz);
-        if (objectLibrary == null) {
-            objectLibrary = new HashMap<String, T>();
-            Set<String> keys = getNodeLibrary().keySet();
-            ObjectMapper om = new ObjectMapper();
-            om.enable(SerializationFeature.INDENT_OUTPUT);
-            om.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-            for (String key : keys) {
-                JsonNode nodeInLibrary = nodeLibrary.get(key);
-                String jsonText = om.writeValueAsString(nodeInLibrary);
-                T anOnject = om.readValue(jsonText, clazz);
-                try {
-                    if (ReflectionUtils.retrieveFieldInObject(anOnject, idFieldName) != null) {
-                        objectLibrary.put(key, anOnject);
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+    public InheritanceResolution getInheritanceResolution() {
+        return inheritanceResolution;
+    }
+
+    public void setInheritanceResolution(InheritanceResolution inheritanceResolution) {
+        this.inheritanceResolution = inheritanceResolution;
+    }
+
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Sets the file in which the store is kept with inheritance applied, to be
+     * reused by later loads as long as the content of the store is unchanged.
+     */
+    public void setSnapshotFile(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Returns a hash of all the content the store is built from, or null if the
+     * store cannot be snapshotted.
+     */
+    protected HashCode computeContentHash() throws IOException {
+        return null;
+    }
+
+    private String computeSnapshotKey() throws IOException {
+        HashCode contentHash = computeContentHash();
+        if (contentHash == null)
+            return null;
+        HashCode settingsHash = Hashing.sha256().hashString(
+                SNAPSHOT_FORMAT_VERSION + "|" + idFieldName + "|" + inheritanceFieldName, StandardCharsets.UTF_8);
+        return Hashing.combineOrdered(Arrays.asList(settingsHash, contentHash)).toString();
+    }
+
+    private boolean loadFromSnapshot(JsonStoreSnapshot snapshot, String snapshotKey) {
+        ObjectNode library = snapshot.read(snapshotKey);
+        if (library == null)
+            return false;
+        Iterator<Map.Entry<String, JsonNode>> entries = library.fields();
+        while (entries.hasNext()) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            nodeLibrary.put(entry.getKey(), entry.getValue());
+        }
+        rootNode = library;
+        allNodesResolved = true;
+        return true;
+    }
+
+    private Map<String, JsonNode> getNodesWithIds() {
+        Map<String, JsonNode> nodesWithIds = new HashMap<>();
+        nodeLibrary.forEach((id, node) -> {
+            if (node.has(idFieldName))
+                nodesWithIds.put(id, node);
+        });
+        return nodesWithIds;
+    }
+
+    private void validateInheritanceGraph() {
+        for (Map.Entry<String, String> entry : parentIdsById.entrySet()) {
+            String parentId = entry.getValue();
+            throwExceptionIfParentNotFound(nodeLibrary.get(entry.getKey()), nodeLibrary.get(parentId), parentId);
+        }
+    }
+
+    /**
+     * Returns the node for the given id with inheritance applied. In ON_DEMAND
+     * mode, the chain of ancestors behind the node is resolved first, each
+     * ancestor being resolved only once, and a copy of the node without the
+     * inheritance mechanism fields is returned.
+     */
+    protected JsonNode getResolvedNode(String id) throws Exception {
+        JsonNode nodeInLibrary = nodeLibrary.get(id);
+        if (nodeInLibrary == null || allNodesResolved)
+            return nodeInLibrary;
+        inheritAndOverlayValuesFor(nodeInLibrary);
+        JsonNode resolvedNode = nodeInLibrary.deepCopy();
+        removeInheritanceMechanismFields(resolvedNode);
+        return resolvedNode;
+    }
+
+    private Cache<String, Object> getObjectLibraryFor(Class<?> clazz) {
+        return objectLibraryPerTypes.computeIfAbsent(clazz,
+                type -> CacheBuilder.newBuilder().maximumSize(OBJECT_CACHE_SIZE_PER_TYPE).build());
+    }
+
+    /**
+     * Builds the typed object for the given id straight from its node in the
+     * library, without writing the node out as JSON text. Returns null if there is
+     * no such node or the resulting object has no value in its id field.
+     */
+    private <T> T materializeObjectWithId(String id, Class<? extends T> clazz) throws Exception {
+        JsonNode resolvedNode = getResolvedNode(id);
+        if (resolvedNode == null)
+            return null;
+        T anObject = objectMapper.treeToValue(resolvedNode, clazz);
+        try {
+            if (ReflectionUtils.retrieveFieldInObject(anObject, idFieldName) != null) {
+                return anObject;
             }
-            objectLibraryPerTypes.put(clazz, objectLibrary);
+        } catch (Exception e) {
+            e.printStackTrace();
         }
-        return objectLibrary;
+        return null;
     }
 
+    /**
+     * Returns the object with the given id, built once and shared by all later
+     * lookups of it. Once the store is loaded, objects already built are returned
+     * without locking. So are objects built from a library with inheritance
+     * already applied throughout, which is no longer modified. Anything else is
+     * done under the lock of the store.
+     */
+    @SuppressWarnings("unchecked")
     public <T> T getObjectWithId(String id, Class<? extends T> clazz) throws Exception {
-        return getMapWithIds(clazz).get(id);
+        if (loaded && !isLibraryMutable()) {
+            Cache<String, Object> objectLibrary = getObjectLibraryFor(clazz);
+            T anObject = (T) objectLibrary.getIfPresent(id);
+            if (anObject != null)
+                return anObject;
+            if (allNodesResolved)
+                return cacheObject(objectLibrary, id, materializeObjectWithId(id, clazz));
+        }
+        synchronized (this) {
+            prepareStore();
+            Cache<String, Object> objectLibrary = getObjectLibraryFor(clazz);
+            T anObject = (T) objectLibrary.getIfPresent(id);
+            if (anObject == null)
+                anObject = cacheObject(objectLibrary, id, materializeObjectWithId(id, clazz));
+            return anObject;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cacheObject(Cache<String, Object> objectLibrary, String id, T anObject) {
+        if (anObject == null)
+            return null;
+        T objectInLibrary = (T) objectLibrary.asMap().putIfAbsent(id, anObject);
+        return objectInLibrary == null ? anObject : objectInLibrary;
     }
 
     private void removeInheritanceMechanismFields(JsonNode node) {
@@ -131,9 +331,9 @@ public abstract class JsonStoreWithInheritance {
             while (parentIterator.hasNext()) {
                 String fieldNameInParent = parentIterator.next();
                 if (!isInheritanceMechanismField(fieldNameInParent)) {
-                    inheritAndOverlayValuesFor(parentNode.get(fieldNameInParent));
-                    JsonNode parentFieldCopy = parentNode.get(fieldNameInParent).deepCopy();
-                    inheritAndOverlayChildValuesFromParent(object, fieldNameInParent, parentFieldCopy);
+                    JsonNode parentField = parentNode.get(fieldNameInParent);
+                    inheritAndOverlayValuesFor(parentField);
+                    inheritAndOverlayChildValuesFromParent(object, fieldNameInParent, parentField);
                 }
             }
         }
@@ -145,32 +345,34 @@ public abstract class JsonStoreWithInheritance {
             ((ObjectNode) object).set(INHERITANCE_APPLIED, BooleanNode.TRUE);
     }
 
+    /**
+     * Inherits a field of a resolved parent into the child. Parent subtrees are
+     * shared with the child rather than copied, and only the nodes on the paths
+     * the child overlays are copied, so resolved nodes must not be modified in
+     * place afterwards.
+     */
     private void inheritAndOverlayChildValuesFromParent(final JsonNode object, final String fieldNameInParent,
-            final JsonNode parentFieldCopy) {
+            final JsonNode parentField) {
         if (object.has(fieldNameInParent)) {
             JsonNode thisField = object.get(fieldNameInParent);
             if (thisField.isArray()) {
                 ((ArrayNode) thisField).forEach(element -> {
                     inheritAndOverlayValuesFor(element);
                 });
-                if (thisField.size() > 0 && REPLACE_ARRAY_CONTENT.equalsIgnoreCase(thisField.get(0).asText())) {
-                    ((ArrayNode) parentFieldCopy).removeAll();
-                    for (int e = 0; e < thisField.size(); e++) {
-                        ((ArrayNode) parentFieldCopy).add(thisField.get(e));
-                    }
-                } else {
-                    ((ArrayNode) parentFieldCopy).addAll((ArrayNode) thisField);
+                ArrayNode inheritedArray = ((ArrayNode) parentField).arrayNode();
+                if (thisField.size() == 0 || !REPLACE_ARRAY_CONTENT.equalsIgnoreCase(thisField.get(0).asText())) {
+                    inheritedArray.addAll((ArrayNode) parentField);
                 }
-                ((ObjectNode) object).set(fieldNameInParent, parentFieldCopy);
+                inheritedArray.addAll((ArrayNode) thisField);
+                ((ObjectNode) object).set(fieldNameInParent, inheritedArray);
             } else if (thisField.isContainerNode()) {
                 inheritAndOverlayValuesFor(thisField);
-                if (!(parentFieldCopy instanceof NullNode)) {
-                    overlayFieldWith(parentFieldCopy, thisField);
-                    ((ObjectNode) object).set(fieldNameInParent, parentFieldCopy);
+                if (!(parentField instanceof NullNode)) {
+                    ((ObjectNode) object).set(fieldNameInParent, overlaidCopyOf(parentField, thisField));
                 }
             }
         } else {
-            ((ObjectNode) object).set(fieldNameInParent, parentFieldCopy);
+            ((ObjectNode) object).set(fieldNameInParent, parentField);
         }
     }
 
@@ -192,30 +394,47 @@ public abstract class JsonStoreWithInheritance {
         }
     }
 
-    private void overlayFieldWith(JsonNode overlaidField, JsonNode overlayingField) {
+    /**
+     * Returns the overlaid field with the overlaying field's values applied,
+     * copying only the overlaid nodes that change. The overlaid field itself is
+     * returned if nothing in it changes.
+     */
+    private JsonNode overlaidCopyOf(JsonNode overlaidField, JsonNode overlayingField) {
         if (overlayingField.isArray()) {
+            ArrayNode overlaidArray = (ArrayNode) overlaidField;
+            ArrayNode overlaidCopy = overlaidArray.arrayNode();
             if (overlayingField.size() > 0 && REPLACE_ARRAY_CONTENT.equalsIgnoreCase(overlayingField.get(0).asText())) {
-                ((ArrayNode) overlaidField).removeAll();
                 for (int e = 1; e < overlayingField.size(); e++) {
-                    ((ArrayNode) overlaidField).add(overlayingField.get(e));
+                    overlaidCopy.add(overlayingField.get(e));
                 }
-            } else
-                ((ArrayNode) overlaidField).addAll((ArrayNode) overlayingField);
-        } else {
-            Iterator<String> overlayingSubfields = overlayingField.fieldNames();
-            while (overlayingSubfields.hasNext()) {
-                String overlayingSubFieldName = overlayingSubfields.next();
-                if (!isInheritanceMechanismField(overlayingSubFieldName)) {
-                    JsonNode overlayingSubField = overlayingField.get(overlayingSubFieldName);
-                    JsonNode overlaidSubField = overlaidField.get(overlayingSubFieldName);
-                    if (overlaidSubField != null && overlaidSubField.isContainerNode()) {
-                        overlayFieldWith(overlaidSubField, overlayingSubField);
-                    } else if (overlaidField instanceof ObjectNode) {
-                        ((ObjectNode) overlaidField).set(overlayingSubFieldName, overlayingSubField);
+            } else {
+                overlaidCopy.addAll(overlaidArray);
+                overlaidCopy.addAll((ArrayNode) overlayingField);
+            }
+            return overlaidCopy;
+        }
+        if (!(overlaidField instanceof ObjectNode))
+            return overlaidField;
+        ObjectNode overlaidCopy = null;
+        Iterator<String> overlayingSubfields = overlayingField.fieldNames();
+        while (overlayingSubfields.hasNext()) {
+            String overlayingSubFieldName = overlayingSubfields.next();
+            if (!isInheritanceMechanismField(overlayingSubFieldName)) {
+                JsonNode overlayingSubField = overlayingField.get(overlayingSubFieldName);
+                JsonNode overlaidSubField = overlaidField.get(overlayingSubFieldName);
+                JsonNode newSubField = overlaidSubField != null && overlaidSubField.isContainerNode()
+                        ? overlaidCopyOf(overlaidSubField, overlayingSubField)
+                        : overlayingSubField;
+                if (newSubField != overlaidSubField) {
+                    if (overlaidCopy == null) {
+                        overlaidCopy = ((ObjectNode) overlaidField).objectNode();
+                        overlaidCopy.setAll((ObjectNode) overlaidField);
                     }
+                    overlaidCopy.set(overlayingSubFieldName, newSubField);
                 }
             }
         }
+        return overlaidCopy == null ? overlaidField : overlaidCopy;
     }
 
     private boolean isInheritanceMechanismField(String fieldName) {
@@ -223,7 +442,48 @@ public abstract class JsonStoreWithInheritance {
                 || fieldName.equalsIgnoreCase(INHERITANCE_APPLIED);
     }
 
-    private void addToLibrary(JsonNode object) throws Exception {
+    protected void addAllToLibrary() throws Exception {
+        addToLibrary(rootNode, new HashSet<>());
+    }
+
+    /**
+     * Removes the nodes with the given keys from the library, together with any
+     * objects built from them. The nodes left in the library are resolved again
+     * on demand.
+     */
+    protected void removeFromLibrary(Collection<String> keys) {
+        for (String key : keys) {
+            nodeLibrary.remove(key);
+            parentIdsById.remove(key);
+        }
+        for (Cache<String, Object> objectLibrary : objectLibraryPerTypes.values())
+            objectLibrary.invalidateAll(keys);
+        allNodesResolved = false;
+    }
+
+    /**
+     * Returns the keys of all nodes inheriting, directly or indirectly, from the
+     * nodes with the given keys.
+     */
+    protected Set<String> getDescendantKeysOf(Collection<String> keys) {
+        Map<String, Set<String>> childKeysByParentId = new HashMap<>();
+        parentIdsById.forEach((childKey, parentId) -> childKeysByParentId
+                .computeIfAbsent(parentId, parentKey -> new HashSet<>()).add(childKey));
+        Set<String> descendantKeys = new HashSet<>();
+        Deque<String> keysToVisit = new ArrayDeque<>(keys);
+        while (!keysToVisit.isEmpty()) {
+            Set<String> childKeys = childKeysByParentId.get(keysToVisit.pop());
+            if (childKeys != null) {
+                for (String childKey : childKeys) {
+                    if (descendantKeys.add(childKey))
+                        keysToVisit.push(childKey);
+                }
+            }
+        }
+        return descendantKeys;
+    }
+
+    protected void addToLibrary(JsonNode object, Set<String> keysAdded) throws Exception {
         String keyFromIdField;
         if (shouldPlaceInLibrary(object)) {
             if (object.has(idFieldName)) {
@@ -232,10 +492,14 @@ public abstract class JsonStoreWithInheritance {
                 keyFromIdField = UUID.randomUUID().toString();
             }
             nodeLibrary.put(keyFromIdField, object);
+            keysAdded.add(keyFromIdField);
+            if (object.has(inheritanceFieldName)) {
+                parentIdsById.put(keyFromIdField, object.get(inheritanceFieldName).asText());
+            }
         }
         Iterator<JsonNode> iterator = object.iterator();
         while (iterator.hasNext()) {
-            addToLibrary(iterator.next());
+            addToLibrary(iterator.next(), keysAdded);
         }
     }
 
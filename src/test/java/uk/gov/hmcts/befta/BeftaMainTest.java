@@ -46,6 +46,7 @@ class BeftaMainTest {
     @AfterEach
     public void closeMockedObjectUnderTest() {
         try {
+            BeftaMain.tearDown();
             mainrMock.close();
         } catch (Exception e) {
             e.printStackTrace();
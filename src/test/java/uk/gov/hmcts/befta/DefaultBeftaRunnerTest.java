@@ -6,6 +6,7 @@ package uk.gov.hmcts.befta;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junitpioneer.jupiter.SetEnvironmentVariable;
 
@@ -27,6 +28,11 @@ class DefaultBeftaRunnerTest {
     public static final String TEST_DATA_LOAD_SKIP_PERIOD_KEY = "TEST_DATA_LOAD_SKIP_PERIOD";
     public static final String TEST_DATA_LOAD_SKIP_PERIOD_VALUE = "0";
 
+    @AfterEach
+    void cleanUp() {
+        DefaultBeftaRunner.tearDown();
+    }
+
     /**
      * Test method for {@link uk.gov.hmcts.befta.DefaultBeftaRunner#setUp()}.
      */
@@ -25,6 +25,7 @@ import org.mockito.Mockito;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.HashMap;
 
 import uk.gov.hmcts.befta.auth.AuthApi;
@@ -515,6 +516,48 @@ class DefaultTestAutomationAdapterTest {
         assertNotNull(tad.calculateCustomValue(context, key));
     }
 
+    @Test
+    @SetEnvironmentVariable(key = DEFINITION_STORE_HOST_KEY, value = DEFINITION_STORE_HOST_VALUE)
+    @SetEnvironmentVariable(key = IDAM_URL_KEY, value = IDAM_URL_VALUE)
+    @SetEnvironmentVariable(key = BEFTA_S2S_CLIENT_ID_KEY, value = BEFTA_S2S_CLIENT_ID_VALUE)
+    @SetEnvironmentVariable(key = BEFTA_S2S_CLIENT_SECRET_KEY, value = BEFTA_S2S_CLIENT_SECRET_VALUE)
+    @SetEnvironmentVariable(key = S2S_URL_KEY, value = S2S_URL_VALUE)
+    void testCalculateCustomValueIgnoringCaseSpacesHyphensAndUnderscores() {
+        RequestData request = mock(RequestData.class);
+        HttpTestData testData = mock(HttpTestData.class);
+        BackEndFunctionalTestScenarioContext context = mock(BackEndFunctionalTestScenarioContext.class);
+        when(context.getTestData()).thenReturn(testData);
+        when(testData.getRequest()).thenReturn(request);
+        HashMap<String, Object> body = new HashMap<String, Object>();
+        when(request.getBody()).thenReturn(body);
+        assertNotNull(tad);
+        assertEquals(body, tad.calculateCustomValue(context, "Request-Body"));
+        assertEquals(body, tad.calculateCustomValue(context, "REQUEST_BODY"));
+        assertEquals(body, tad.calculateCustomValue(context, "request body"));
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = DEFINITION_STORE_HOST_KEY, value = DEFINITION_STORE_HOST_VALUE)
+    @SetEnvironmentVariable(key = IDAM_URL_KEY, value = IDAM_URL_VALUE)
+    @SetEnvironmentVariable(key = BEFTA_S2S_CLIENT_ID_KEY, value = BEFTA_S2S_CLIENT_ID_VALUE)
+    @SetEnvironmentVariable(key = BEFTA_S2S_CLIENT_SECRET_KEY, value = BEFTA_S2S_CLIENT_SECRET_VALUE)
+    @SetEnvironmentVariable(key = S2S_URL_KEY, value = S2S_URL_VALUE)
+    void testCalculateCustomValueRegistered() {
+        BackEndFunctionalTestScenarioContext context = mock(BackEndFunctionalTestScenarioContext.class);
+        assertNotNull(tad);
+        assertNull(tad.calculateCustomValue(context, "caseReference"));
+
+        tad.registerCustomValue("case-reference", scenarioContext -> "1234567890123456");
+        assertEquals("1234567890123456", tad.calculateCustomValue(context, "caseReference"));
+
+        tad.registerCustomValue("caseReference", scenarioContext -> {
+            throw new IOException("Not available.");
+        });
+        Assertions.assertThrows(FunctionalTestException.class, () -> {
+            tad.calculateCustomValue(context, "caseReference");
+        });
+    }
+
     /**
      * Test method for
      * {@link uk.gov.hmcts.befta.DefaultTestAutomationAdapter#getDateTimeFormatRequested(java.lang.String)}.
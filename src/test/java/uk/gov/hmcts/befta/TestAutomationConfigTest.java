@@ -5,14 +5,22 @@ package uk.gov.hmcts.befta;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junitpioneer.jupiter.SetEnvironmentVariable;
 
+import java.io.File;
+
+import uk.gov.hmcts.befta.TestAutomationConfig.ResponseBodyParsing;
 import uk.gov.hmcts.befta.TestAutomationConfig.ResponseHeaderCheckPolicy;
+import uk.gov.hmcts.befta.TestAutomationConfig.TestDataSourceType;
 import uk.gov.hmcts.befta.auth.UserTokenProviderConfig;
+import uk.gov.hmcts.befta.util.ClasspathResourceIndex.Discovery;
+import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance.InheritanceResolution;
 
 /**
  * @author korneleehenry
@@ -158,4 +166,127 @@ class TestAutomationConfigTest {
         assertEquals(ResponseHeaderCheckPolicy.FAIL_TEST, TestAutomationConfig.INSTANCE.getResponseHeaderCheckPolicy());
     }
 
+    /**
+     * Test method for
+     * {@link uk.gov.hmcts.befta.TestAutomationConfig#getTestDataInheritanceResolution()}.
+     */
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_TEST_DATA_INHERITANCE_RESOLUTION", value = "ON_DEMAND")
+    void testGetTestDataInheritanceResolution() {
+        assertEquals(InheritanceResolution.ON_DEMAND,
+                TestAutomationConfig.INSTANCE.getTestDataInheritanceResolution());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_TEST_DATA_SOURCE_TYPE", value = "INDEXED_JSON_STORE")
+    void testGetTestDataSourceType() {
+        assertEquals(TestDataSourceType.INDEXED_JSON_STORE, TestAutomationConfig.INSTANCE.getTestDataSourceType());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_RESOURCE_DISCOVERY", value = "INDEX_FILES")
+    void testGetResourceDiscovery() {
+        assertEquals(Discovery.INDEX_FILES, TestAutomationConfig.INSTANCE.getResourceDiscovery());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_RESPONSE_BODY_PARSING", value = "STREAM")
+    void testGetResponseBodyParsing() {
+        assertEquals(ResponseBodyParsing.STREAM, TestAutomationConfig.INSTANCE.getResponseBodyParsing());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_PARALLEL_VERIFICATION_THRESHOLD", value = "1000")
+    void testGetParallelVerificationThreshold() {
+        assertEquals(1000, TestAutomationConfig.INSTANCE.getParallelVerificationThreshold());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_MAX_VERIFICATION_ISSUES", value = "100")
+    void testGetMaxVerificationIssues() {
+        assertEquals(100, TestAutomationConfig.INSTANCE.getMaxVerificationIssues());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_MAX_VERIFICATION_ISSUES", value = "-1")
+    void testGetMaxVerificationIssuesNegative() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TestAutomationConfig.INSTANCE.getMaxVerificationIssues());
+        assertTrue(e.getMessage().contains("BEFTA_MAX_VERIFICATION_ISSUES"));
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_HTTP_MAX_CONNECTIONS_PER_HOST", value = "5")
+    @SetEnvironmentVariable(key = "BEFTA_HTTP_READ_TIMEOUT", value = "30000")
+    void testGetHttpSettings() {
+        assertEquals(5, TestAutomationConfig.INSTANCE.getHttpMaxConnectionsPerHost());
+        assertEquals(100, TestAutomationConfig.INSTANCE.getHttpMaxConnections());
+        assertEquals(0, TestAutomationConfig.INSTANCE.getHttpConnectTimeout());
+        assertEquals(30000, TestAutomationConfig.INSTANCE.getHttpReadTimeout());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_HTTP_MAX_CONNECTIONS", value = "0")
+    void testGetHttpMaxConnectionsBelowMinimum() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TestAutomationConfig.INSTANCE.getHttpMaxConnections());
+        assertTrue(e.getMessage().contains("BEFTA_HTTP_MAX_CONNECTIONS"));
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_HTTP_CONNECT_TIMEOUT", value = "5s")
+    void testGetHttpConnectTimeoutNotANumber() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TestAutomationConfig.INSTANCE.getHttpConnectTimeout());
+        assertTrue(e.getMessage().contains("BEFTA_HTTP_CONNECT_TIMEOUT"));
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "TEST_DATA_LOAD_SKIP_PERIOD", value = "a day")
+    void testGetTestDataLoadSkipPeriodNotANumber() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TestAutomationConfig.INSTANCE.getTestDataLoadSkipPeriod());
+        assertTrue(e.getMessage().contains("TEST_DATA_LOAD_SKIP_PERIOD"));
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_TEST_DATA_WATCH_DIRECTORY", value = "src/test/resources")
+    void testGetTestDataWatchDirectory() {
+        assertEquals(new File("src/test/resources"), TestAutomationConfig.INSTANCE.getTestDataWatchDirectory());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_TEST_DATA_WATCH_DIRECTORY", value = "no/such/directory")
+    void testGetTestDataWatchDirectoryNotADirectory() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> TestAutomationConfig.INSTANCE.getTestDataWatchDirectory());
+        assertTrue(e.getMessage().contains("BEFTA_TEST_DATA_WATCH_DIRECTORY"));
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_TEST_DATA_SOURCE_TYPE", value = "INDEXED_JSON_STORE")
+    @SetEnvironmentVariable(key = TEST_URL_KEY, value = TEST_URL_VALUE)
+    void testReload() {
+        try {
+            TestAutomationConfig.INSTANCE.reload();
+            assertEquals(TestDataSourceType.INDEXED_JSON_STORE, TestAutomationConfig.INSTANCE.getTestDataSourceType());
+            assertEquals(InheritanceResolution.EAGER, TestAutomationConfig.INSTANCE.getTestDataInheritanceResolution());
+            assertEquals(TEST_URL_VALUE, TestAutomationConfig.INSTANCE.getTestUrl());
+        } finally {
+            TestAutomationConfig.INSTANCE.release();
+        }
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = BEFTA_RESPONSE_HEADER_CHECK_POLICY, value = "SOMETIMES")
+    void testReloadWithInvalidSetting() {
+        try {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> TestAutomationConfig.INSTANCE.reload());
+            assertTrue(e.getMessage().contains(BEFTA_RESPONSE_HEADER_CHECK_POLICY));
+        } finally {
+            TestAutomationConfig.INSTANCE.release();
+        }
+    }
+
 }
@@ -8,6 +8,7 @@ import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnOverri
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junitpioneer.jupiter.SetEnvironmentVariable;
 
 public class JsonStoreHttpTestDataSourceTest {
 
@@ -47,6 +48,15 @@ public class JsonStoreHttpTestDataSourceTest {
         applyCommonAssertionsOnOverriddenData(result);
     }
 
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_TEST_DATA_WATCH_DIRECTORY",
+            value = "src/test/resources/framework-test-data/inheritance-test-data")
+    public void shouldGetDataForTestCallFromAWatchedDirectorySuccessfully() {
+        HttpTestData result = dataSource.getDataForTestCall("Simple-Data-With-Inheritance");
+
+        applyCommonAssertionsOnExtendedData(result);
+    }
+
     @Test
     public void shouldReturnNullWhenGettingDataForTestDataIdNotFound() {
         HttpTestData result = dataSource.getDataForTestCall("Non-Existing-Id");
@@ -260,7 +260,7 @@ public class BackEndFunctionalTestScenarioContextTest {
         when(dataSource.getDataForTestCall(testDataId)).thenReturn(s103TestData);
 		DynamicValueInjector dynamicValueInjector = mock(DynamicValueInjector.class);
         contextUnderTest = new BackEndFunctionalTestScenarioContext();
-        when(DynamicValueInjectorFactory.create(any(), any(), any())).thenReturn(dynamicValueInjector);
+        when(DynamicValueInjectorFactory.create(any(), any(), any(), any())).thenReturn(dynamicValueInjector);
         contextUnderTest.initializeTestDataFor(testDataId);
         contextUnderTest.injectDataFromContextBeforeApiCall();
         verify(dynamicValueInjector).injectDataFromContextBeforeApiCall();
@@ -276,7 +276,7 @@ public class BackEndFunctionalTestScenarioContextTest {
         when(dataSource.getDataForTestCall(testDataId)).thenReturn(s103TestData);
 		DynamicValueInjector dynamicValueInjector = mock(DynamicValueInjector.class);
         contextUnderTest = new BackEndFunctionalTestScenarioContext();
-        when(DynamicValueInjectorFactory.create(any(), any(), any())).thenReturn(dynamicValueInjector);
+        when(DynamicValueInjectorFactory.create(any(), any(), any(), any())).thenReturn(dynamicValueInjector);
         contextUnderTest.initializeTestDataFor(testDataId);
         contextUnderTest.injectDataFromContextAfterApiCall();
         verify(dynamicValueInjector).injectDataFromContextAfterApiCall();
@@ -298,7 +298,7 @@ public class BackEndFunctionalTestScenarioContextTest {
         when(s103TestData.getUsers()).thenReturn(users);
 		DynamicValueInjector dynamicValueInjector = mock(DynamicValueInjector.class);
         contextUnderTest = new BackEndFunctionalTestScenarioContext();
-        when(DynamicValueInjectorFactory.create(any(), any(), any())).thenReturn(dynamicValueInjector);
+        when(DynamicValueInjectorFactory.create(any(), any(), any(), any())).thenReturn(dynamicValueInjector);
         contextUnderTest.initializeTestDataFor(testDataId);
         Entry<String, UserData> actual = contextUnderTest.getNextUserToAuthenticate();
         assertNotNull(actual);
@@ -23,7 +23,9 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,6 +39,7 @@ import java.util.concurrent.TimeUnit;
 
 import io.cucumber.java.Scenario;
 import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.Header;
 import io.restassured.http.Headers;
 import io.restassured.response.Response;
@@ -46,6 +49,8 @@ import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.SpecificationQuerier;
 import uk.gov.hmcts.befta.BeftaMain;
 import uk.gov.hmcts.befta.DefaultTestAutomationAdapter;
+import uk.gov.hmcts.befta.TestAutomationConfig;
+import uk.gov.hmcts.befta.TestAutomationConfig.ResponseBodyParsing;
 import uk.gov.hmcts.befta.data.HttpTestData;
 import uk.gov.hmcts.befta.data.JsonStoreHttpTestDataSource;
 import uk.gov.hmcts.befta.data.RequestData;
@@ -137,6 +142,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayerTest {
             backEndFunctionalTestScenarioContextMock.close();
             beftaScenarioContextFactoryMock.close();
         	mapVerifierMock.close();
+            BeftaMain.setConfig(TestAutomationConfig.INSTANCE);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -250,6 +256,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayerTest {
         verify(requestSpecification).queryParam("param1", "param value 1");
         verify(requestSpecification).queryParam("param2", "param value 2");
         verify(requestSpecification).body(any(byte[].class));
+        verify(requestSpecification).config(any(RestAssuredConfig.class));
         verifyNoMoreInteractions(requestSpecification);
     }
 
@@ -265,6 +272,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayerTest {
 
         scenarioPlayer.prepareARequestWithAppropriateValues();
 
+        verify(requestSpecification).config(any(RestAssuredConfig.class));
         verifyNoMoreInteractions(requestSpecification);
     }
 
@@ -534,7 +542,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayerTest {
         when(context.getTestData()).thenReturn(testData);
         mapVerifierMock.when(() -> MapVerifier.createMapVerifier("actualResponse.headers", 1, false)).thenReturn(mapVerifier);
         mapVerifierMock.when(() -> MapVerifier.createMapVerifier("actualResponse.body", 20)).thenReturn(mapVerifier);
-        when(mapVerifier.verifyMap(any(), any())).thenReturn(verificationResult);
+        when(mapVerifier.verifyMap(any(), any(), any())).thenReturn(verificationResult);
         when(verificationResult.isVerified()).thenReturn(true);
 
         scenarioPlayer.verifyThatTheResponseHasAllTheDetailsAsExpected();
@@ -551,7 +559,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayerTest {
         when(context.getTestData()).thenReturn(testData);
         mapVerifierMock.when(() -> MapVerifier.createMapVerifier("actualResponse.headers", 1, false)).thenReturn(mapVerifier);
         mapVerifierMock.when(() -> MapVerifier.createMapVerifier("actualResponse.body", 20)).thenReturn(mapVerifier);
-        when(mapVerifier.verifyMap(any(), any())).thenReturn(verificationResult);
+        when(mapVerifier.verifyMap(any(), any(), any())).thenReturn(verificationResult);
         when(verificationResult.isVerified()).thenReturn(true);
 
         AssertionError aeThrown =Assertions.assertThrows(AssertionError.class, () ->
@@ -574,7 +582,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayerTest {
         Mockito.when(context.getTheResponse()).thenReturn(response);
         mapVerifierMock.when(() -> MapVerifier.createMapVerifier("actualResponse.headers", 1, false)).thenReturn(mapVerifier);
         mapVerifierMock.when(() -> MapVerifier.createMapVerifier("actualResponse.body", 20)).thenReturn(mapVerifier);
-        Mockito.when(mapVerifier.verifyMap(any(), any())).thenReturn(verificationResult);
+        Mockito.when(mapVerifier.verifyMap(any(), any(), any())).thenReturn(verificationResult);
         Mockito.when(verificationResult.isVerified()).thenReturn(false);
 
         Mockito.when(verificationResult.getAllIssues()).thenReturn(new ArrayList<String>() {
@@ -775,6 +783,88 @@ public class DefaultBackEndFunctionalTestScenarioPlayerTest {
         assertEquals("OK", responseData.getResponseMessage());
     }
 
+    @Test
+    public void shouldStreamAJsonObjectBodyIntoTheResponse() throws IOException {
+        ResponseData responseData = submitTheRequestWithResponseBody(ResponseBodyParsing.STREAM,
+                "application/json;charset=UTF-8", "{\"id\":1,\"names\":[\"a\",\"b\"]}");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", 1);
+        body.put("names", Arrays.asList("a", "b"));
+        assertEquals(body, responseData.getBody());
+    }
+
+    @Test
+    public void shouldStreamAJsonArrayBodyIntoTheResponseUnderArrayInMap() throws IOException {
+        ResponseData responseData = submitTheRequestWithResponseBody(ResponseBodyParsing.STREAM,
+                "application/json", "[{\"id\":1},{\"id\":2}]");
+
+        assertEquals(Collections.singletonMap("arrayInMap",
+                Arrays.asList(Collections.singletonMap("id", 1), Collections.singletonMap("id", 2))),
+                responseData.getBody());
+    }
+
+    @Test
+    public void shouldStreamAnEmptyJsonBodyIntoTheResponseAsNoBody() throws IOException {
+        ResponseData responseData = submitTheRequestWithResponseBody(ResponseBodyParsing.STREAM,
+                "application/json", "");
+
+        assertEquals(null, responseData.getBody());
+    }
+
+    @Test
+    public void shouldFailToStreamAMalformedJsonBodyIntoTheResponse() {
+        FunctionalTestException feThrown = Assertions.assertThrows(FunctionalTestException.class,
+                () -> submitTheRequestWithResponseBody(ResponseBodyParsing.STREAM, "application/json", "{\"id\":"),
+                "FunctionalTestException is not thrown");
+        assertTrue(feThrown.getMessage().contains("Can't convert the body to JSON."));
+    }
+
+    @Test
+    public void shouldReadANonJsonBodyAsTextWhenStreamingIsOn() throws IOException {
+        ResponseData responseData = submitTheRequestWithResponseBody(ResponseBodyParsing.STREAM,
+                "text/plain", "plain\ntext");
+
+        assertEquals(Collections.singletonMap("__plainTextValue__", "plaintext"), responseData.getBody());
+    }
+
+    @SuppressWarnings({ "rawtypes" })
+    private ResponseData submitTheRequestWithResponseBody(ResponseBodyParsing responseBodyParsing,
+            String contentType, String bodyString) throws IOException {
+        TestAutomationConfig config = mock(TestAutomationConfig.class);
+        when(config.getResponseBodyParsing()).thenReturn(responseBodyParsing);
+        BeftaMain.setConfig(config);
+        jsonUtilsMock.when(() -> JsonUtils.readObjectFromJsonStream(any())).thenCallRealMethod();
+
+        HttpTestData testData = mock(HttpTestData.class);
+        when(testData.meetsOperationOfProduct(eq(PRODUCT_NAME), eq(OPERATION))).thenReturn(true);
+        when(testData.getMethod()).thenReturn("GET");
+        when(testData.getUri()).thenReturn("URI");
+        when(testData.getExpectedResponse()).thenReturn(new ResponseData());
+        when(context.getTestData()).thenReturn(testData);
+        when(context.getTheRequest()).thenReturn(requestSpecification);
+
+        Response response = mock(Response.class);
+        when(response.getHeaders())
+                .thenReturn(new Headers(Collections.singletonList(new Header("Content-Type", contentType))));
+        when(response.getStatusCode()).thenReturn(200);
+        when(response.getContentType()).thenReturn(contentType);
+        when(requestSpecification.request(eq("GET"), eq("URI"))).thenReturn(response);
+        QueryableRequestSpecification queryableRequest = mock(QueryableRequestSpecification.class);
+        when(SpecificationQuerier.query(eq(requestSpecification))).thenReturn(queryableRequest);
+
+        ResponseBody responseBody = mock(ResponseBody.class);
+        when(response.getBody()).thenReturn(responseBody);
+        when(responseBody.asString()).thenReturn(bodyString);
+        when(responseBody.asInputStream())
+                .thenReturn(new ByteArrayInputStream(bodyString.getBytes(StandardCharsets.UTF_8)));
+
+        scenarioPlayer.submitTheRequestToCallAnOperationOfAProduct(OPERATION, PRODUCT_NAME);
+
+        verify(testData).setActualResponse((ResponseData) captor.capture());
+        return (ResponseData) captor.getValue();
+    }
+
     @Test
     public void shouldFailToSubmitTheRequestToCallAnOperationOfAProductWithInvalidMethodType() throws IOException {
         HttpTestData testData = mock(HttpTestData.class);
@@ -1033,7 +1123,7 @@ public class DefaultBackEndFunctionalTestScenarioPlayerTest {
         when(requestSpecification.request(eq("GET"), eq(uri))).thenReturn(response);
         when(SpecificationQuerier.query(eq(requestSpecification))).thenReturn(queryableRequest);
 
-        when(mapVerifier.verifyMap(any(), any())).thenReturn(verificationResult);
+        when(mapVerifier.verifyMap(any(), any(), any())).thenReturn(verificationResult);
         when(verificationResult.isVerified()).thenReturn(true);
 
         // context
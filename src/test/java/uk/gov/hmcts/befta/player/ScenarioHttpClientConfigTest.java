@@ -0,0 +1,60 @@
+package uk.gov.hmcts.befta.player;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junitpioneer.jupiter.SetEnvironmentVariable;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+
+public class ScenarioHttpClientConfigTest {
+
+    @Test
+    public void shouldReuseOneHttpClientConfigPerThread() throws InterruptedException {
+        ScenarioHttpClientConfig config = new ScenarioHttpClientConfig(5, 50, 1000, 2000);
+
+        HttpClientConfig first = config.applyTo(RestAssuredConfig.config()).getHttpClientConfig();
+        HttpClientConfig[] onOtherThread = new HttpClientConfig[1];
+        Thread otherThread = new Thread(
+                () -> onOtherThread[0] = config.applyTo(RestAssuredConfig.config()).getHttpClientConfig());
+        otherThread.start();
+        otherThread.join();
+
+        assertTrue(first.isConfiguredToReuseTheSameHttpClientInstance());
+        assertSame(first, config.applyTo(RestAssuredConfig.config()).getHttpClientConfig());
+        assertNotSame(first, onOtherThread[0]);
+    }
+
+    @Test
+    public void shouldLimitThePoolAsConfigured() {
+        ScenarioHttpClientConfig config = new ScenarioHttpClientConfig(5, 50, 0, 0);
+
+        assertEquals(50, config.getTotalStats().getMax());
+        assertEquals(0, config.getTotalStats().getLeased());
+    }
+
+    @Test
+    public void shouldRelaxHttpsValidation() {
+        ScenarioHttpClientConfig config = new ScenarioHttpClientConfig(5, 50, 0, 0);
+
+        assertTrue(config.applyTo(RestAssuredConfig.config()).getSSLConfig().isRelaxedHTTPSValidation());
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_HTTP_MAX_CONNECTIONS", value = "7")
+    public void shouldCreateTheSharedInstanceAgainAfterShuttingItDown() {
+        ScenarioHttpClientConfig.shutDownSharedInstance();
+        ScenarioHttpClientConfig sharedInstance = ScenarioHttpClientConfig.getSharedInstance();
+
+        assertEquals(7, sharedInstance.getTotalStats().getMax());
+        assertSame(sharedInstance, ScenarioHttpClientConfig.getSharedInstance());
+        ScenarioHttpClientConfig.shutDownSharedInstance();
+        assertNotSame(sharedInstance, ScenarioHttpClientConfig.getSharedInstance());
+        ScenarioHttpClientConfig.shutDownSharedInstance();
+    }
+
+}
@@ -0,0 +1,101 @@
+package uk.gov.hmcts.befta.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import uk.gov.hmcts.befta.util.ClasspathResourceIndex.Discovery;
+
+class ClasspathResourceIndexTest {
+
+    private static final String TEST_DATA_RESOURCE = "framework-test-data/json-store-test-data/File-In-Root.td.json";
+
+    @Test
+    void shouldFindTestDataResourcesOnTheClasspath() {
+        List<String> resourceNames = ClasspathResourceIndex.getResourceNames(Discovery.CLASSPATH_SCAN);
+
+        assertTrue(resourceNames.contains(TEST_DATA_RESOURCE));
+        assertTrue(resourceNames.stream().allMatch(ClasspathResourceIndex::isIndexed));
+    }
+
+    @Test
+    void shouldScanDirectoriesWithoutAResourceIndexFile() throws IOException {
+        Path directory = Files.createTempDirectory("befta-resources");
+        Files.createDirectories(directory.resolve("data"));
+        Files.write(directory.resolve("data/A.td.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("data/B.txt"), "b".getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null)) {
+            List<String> resourceNames = ClasspathResourceIndex.loadResourceNames(classLoader,
+                    Discovery.CLASSPATH_SCAN);
+
+            assertTrue(resourceNames.contains("data/A.td.json"));
+            assertFalse(resourceNames.contains("data/B.txt"));
+        }
+    }
+
+    @Test
+    void shouldReadResourceIndexFilesInsteadOfScanningWhenAskedTo() throws IOException {
+        Path indexed = createIndexedDirectory();
+        Path unindexed = Files.createTempDirectory("befta-resources");
+        Files.createDirectories(unindexed.resolve("other"));
+        Files.write(unindexed.resolve("other/Unindexed.td.json"), "{}".getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] { indexed.toUri().toURL(), unindexed.toUri().toURL() }, null)) {
+            assertEquals(Arrays.asList("data/Listed.td.json", "defs/Listed.xlsx"),
+                    ClasspathResourceIndex.loadResourceNames(classLoader, Discovery.INDEX_FILES));
+        }
+    }
+
+    @Test
+    void shouldScanEveryClasspathEntryEvenWhenSomeAreIndexed() throws IOException {
+        Path indexed = createIndexedDirectory();
+        Path unindexed = Files.createTempDirectory("befta-resources");
+        Files.createDirectories(unindexed.resolve("other"));
+        Files.write(unindexed.resolve("other/Unindexed.td.json"), "{}".getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] { indexed.toUri().toURL(), unindexed.toUri().toURL() }, null)) {
+            List<String> resourceNames = ClasspathResourceIndex.loadResourceNames(classLoader,
+                    Discovery.CLASSPATH_SCAN);
+
+            assertTrue(resourceNames.contains("data/Unlisted.td.json"));
+            assertTrue(resourceNames.contains("other/Unindexed.td.json"));
+        }
+    }
+
+    @Test
+    void shouldScanWhenNoResourceIndexFileIsFound() throws IOException {
+        Path directory = Files.createTempDirectory("befta-resources");
+        Files.createDirectories(directory.resolve("data"));
+        Files.write(directory.resolve("data/A.td.json"), "{}".getBytes(StandardCharsets.UTF_8));
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null)) {
+            assertEquals(Arrays.asList("data/A.td.json"),
+                    ClasspathResourceIndex.loadResourceNames(classLoader, Discovery.INDEX_FILES));
+        }
+    }
+
+    private static Path createIndexedDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("befta-resources");
+        Path indexFile = directory.resolve(ClasspathResourceIndex.RESOURCE_INDEX_FILE);
+        Files.createDirectories(indexFile.getParent());
+        Files.write(indexFile, Arrays.asList("data/Listed.td.json", "", "defs/Listed.xlsx"), StandardCharsets.UTF_8);
+        Files.createDirectories(directory.resolve("data"));
+        Files.write(directory.resolve("data/Unlisted.td.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        return directory;
+    }
+
+}
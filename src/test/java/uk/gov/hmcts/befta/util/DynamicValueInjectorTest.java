@@ -15,6 +15,7 @@ import org.mockito.MockitoAnnotations;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +23,7 @@ import uk.gov.hmcts.befta.DefaultTestAutomationAdapter;
 import uk.gov.hmcts.befta.data.HttpTestData;
 import uk.gov.hmcts.befta.data.HttpTestDataSource;
 import uk.gov.hmcts.befta.data.JsonStoreHttpTestDataSource;
+import uk.gov.hmcts.befta.data.RequestData;
 import uk.gov.hmcts.befta.factory.DynamicValueInjectorFactory;
 import uk.gov.hmcts.befta.player.BackEndFunctionalTestScenarioContext;
 
@@ -174,6 +176,35 @@ public class DynamicValueInjectorTest {
 
     }
 
+    @Test
+    public void shouldInjectIntoTestDataReloadedUnderTheGuidOfTestDataWithoutDynamicValues() {
+        Mockito.when(taAdapter.calculateCustomValue(scenarioContext, "test-custom-value-string")).thenReturn("INLINE");
+
+        HttpTestData staticTemplate = createTestDataWithRequestBodyValue("a static value");
+        HttpTestData staticTestData = new HttpTestData(staticTemplate);
+        DynamicValueInjectorFactory.create(taAdapter, staticTestData, staticTemplate, scenarioContext)
+                .injectDataFromContextBeforeApiCall();
+        Assert.assertEquals("a static value", staticTestData.getRequest().getBody().get("value"));
+
+        HttpTestData dynamicTemplate = createTestDataWithRequestBodyValue(
+                "${[scenarioContext][customValues][test-custom-value-string]}");
+        HttpTestData dynamicTestData = new HttpTestData(dynamicTemplate);
+        DynamicValueInjectorFactory.create(taAdapter, dynamicTestData, dynamicTemplate, scenarioContext)
+                .injectDataFromContextBeforeApiCall();
+        Assert.assertEquals("INLINE", dynamicTestData.getRequest().getBody().get("value"));
+    }
+
+    private HttpTestData createTestDataWithRequestBodyValue(String value) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("value", value);
+        RequestData request = new RequestData();
+        request.setBody(body);
+        HttpTestData testData = new HttpTestData();
+        testData.set_guid_("Test-Data-Built-In-Code");
+        testData.setRequest(request);
+        return testData;
+    }
+
     @Test
     public void shouldInjectCustomValuesWithReturnNull() {
         testAndVerifyInjectionOfCustomValues(null);
@@ -0,0 +1,87 @@
+package uk.gov.hmcts.befta.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junitpioneer.jupiter.SetEnvironmentVariable;
+
+import java.util.Collections;
+import java.util.function.BiFunction;
+
+import uk.gov.hmcts.befta.exception.FunctionalTestException;
+
+public class DynamicValueTemplateTest {
+
+    private static final BiFunction<String, FieldPath, Object> FIELD_COUNT = (formula, path) -> path.size();
+
+    @Test
+    public void shouldParseEachValueOnce() {
+        assertSame(DynamicValueTemplate.of("${[scenarioContext][testData][uri]}"),
+                DynamicValueTemplate.of("${[scenarioContext][testData][uri]}"));
+    }
+
+    @Test
+    public void shouldFlagValuesWithoutDynamicContentAsStatic() {
+        assertTrue(DynamicValueTemplate.of("").isStatic());
+        assertTrue(DynamicValueTemplate.of("a plain value, {not} $[a formula]").isStatic());
+        assertFalse(DynamicValueTemplate.of("id ${[scenarioContext][key]}").isStatic());
+        assertFalse(DynamicValueTemplate.of("{{BEFTA_SOME_VAR}}").isStatic());
+        assertFalse(DynamicValueTemplate.of("unclosed ${[scenarioContext]").isStatic());
+    }
+
+    @Test
+    public void shouldReturnTheValueOfAWholeFormula() {
+        Object value = Collections.singletonMap("key", "value");
+        assertSame(value, DynamicValueTemplate.of("${[scenarioContext][key]}").evaluate("${[scenarioContext][key]}",
+                (formula, path) -> value));
+    }
+
+    @Test
+    public void shouldJoinPartsIntoAString() {
+        String input = "a${[scenarioContext][key]}b${[scenarioContext][key][subkey]}";
+        assertEquals("a2b3", DynamicValueTemplate.of(input).evaluate(input, FIELD_COUNT));
+    }
+
+    @Test
+    public void shouldReturnTheLastNumberWhenAllPartsAreNumbers() {
+        String input = "${[scenarioContext][key]}${[scenarioContext][key][subkey]}";
+        assertEquals(3, DynamicValueTemplate.of(input).evaluate(input, FIELD_COUNT));
+    }
+
+    @Test
+    @SetEnvironmentVariable(key = "BEFTA_TEMPLATE_TEST_VAR", value = "env")
+    public void shouldInjectEnvironmentVariables() {
+        String input = "{{BEFTA_TEMPLATE_TEST_VAR}}-${[scenarioContext][key]}";
+        assertEquals("env-2", DynamicValueTemplate.of(input).evaluate(input, FIELD_COUNT));
+    }
+
+    @Test
+    public void shouldFailOnUnclosedPartsOnlyWhenTheyAreReached() {
+        String input = "${[scenarioContext][key]}{{BEFTA_UNCLOSED";
+        FunctionalTestException unclosedEnvVar = assertThrows(FunctionalTestException.class,
+                () -> DynamicValueTemplate.of(input).evaluate(input, FIELD_COUNT));
+        assertEquals("'{{' is not matched with a '}}' for " + input + " at position: 25.",
+                unclosedEnvVar.getMessage());
+
+        String failingFirst = "${[scenarioContext][key]}${[unclosed]";
+        IllegalStateException formulaFailure = assertThrows(IllegalStateException.class,
+                () -> DynamicValueTemplate.of(failingFirst).evaluate(failingFirst, (formula, path) -> {
+                    throw new IllegalStateException(formula);
+                }));
+        assertEquals("${[scenarioContext][key]}", formulaFailure.getMessage());
+    }
+
+    @Test
+    public void shouldFindThePathsOfFormulas() {
+        assertSame(FieldPath.ofFormula("${[scenarioContext][testData][uri]}"),
+                DynamicValueTemplate.pathOf("${[scenarioContext][testData][uri]}"));
+        assertNull(DynamicValueTemplate.pathOf("${}"));
+        assertNull(DynamicValueTemplate.pathOf("${empty_string}"));
+    }
+
+}
@@ -1,6 +1,9 @@
 package uk.gov.hmcts.befta.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -56,4 +59,18 @@ public class EnvironmentVariableUtilsTest {
         assertEquals(NULL_VALUE, EnvironmentVariableUtils.getOptionalVariable(ENV_VAR_NAME));
     }
 
+    @Test
+    @SetEnvironmentVariable(key = ENV_VAR_NAME, value = RETURN_VALUE)
+    public void shouldReturnVariablesFromSnapshotOnceTaken() {
+        try {
+            EnvironmentVariableUtils.takeSnapshot();
+            assertTrue(EnvironmentVariableUtils.isSnapshotTaken());
+            assertEquals(RETURN_VALUE, EnvironmentVariableUtils.getRequiredVariable(ENV_VAR_NAME));
+            assertNull(EnvironmentVariableUtils.getOptionalVariable("ENV_VAR_NOT_SET"));
+        } finally {
+            EnvironmentVariableUtils.releaseSnapshot();
+        }
+        assertFalse(EnvironmentVariableUtils.isSnapshotTaken());
+    }
+
 }
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.befta.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ExpectedValuePlaceholderTest {
+
+    @Test
+    public void shouldFindPlaceholdersByValueCaseInsensitively() {
+        for (ExpectedValuePlaceholder placeholder : ExpectedValuePlaceholder.values()) {
+            assertEquals(placeholder, ExpectedValuePlaceholder.getByValue(placeholder.getValue()));
+            assertEquals(placeholder, ExpectedValuePlaceholder.getByValue(placeholder.getValue().toLowerCase()));
+        }
+        assertNull(ExpectedValuePlaceholder.getByValue(""));
+        assertNull(ExpectedValuePlaceholder.getByValue("ANY_STRING_NULLABLE"));
+        assertNull(ExpectedValuePlaceholder.getByValue("[[ANY_STRING_NULLABLE]] "));
+        assertNull(ExpectedValuePlaceholder.getByValue("[[ANY_STRING_NULLABLES]]"));
+        assertNull(ExpectedValuePlaceholder.getByValue("[[A_VERY_LONG_VALUE_WHICH_IS_NOT_A_PLACEHOLDER]]"));
+    }
+
+    @Test
+    public void shouldAcceptDatesAndTimestampsAtTheStartOfValues() {
+        assertTrue(ExpectedValuePlaceholder.ANY_DATE_NOT_NULLABLE.accepts("2020-01-02"));
+        assertTrue(ExpectedValuePlaceholder.ANY_DATE_NOT_NULLABLE.accepts("2020-01-02T10:11:12.123"));
+        assertFalse(ExpectedValuePlaceholder.ANY_DATE_NOT_NULLABLE.accepts("02/01/2020"));
+        assertFalse(ExpectedValuePlaceholder.ANY_DATE_NOT_NULLABLE.accepts(20200102));
+
+        assertTrue(ExpectedValuePlaceholder.ANY_TIMESTAMP_NOT_NULLABLE.accepts("2020-01-02T10:11"));
+        assertTrue(ExpectedValuePlaceholder.ANY_TIMESTAMP_NOT_NULLABLE.accepts("2020-01-02T10:11:12"));
+        assertTrue(ExpectedValuePlaceholder.ANY_TIMESTAMP_NOT_NULLABLE.accepts("2020-01-02T10:11:12.123456Z"));
+        assertFalse(ExpectedValuePlaceholder.ANY_TIMESTAMP_NOT_NULLABLE.accepts("2020-01-02"));
+    }
+
+    @Test
+    public void shouldAcceptNumbersOfTheirTypes() {
+        assertTrue(ExpectedValuePlaceholder.ANY_INTEGER_NOT_NULLABLE.accepts(12));
+        assertTrue(ExpectedValuePlaceholder.ANY_INTEGER_NOT_NULLABLE.accepts("-12"));
+        assertFalse(ExpectedValuePlaceholder.ANY_INTEGER_NOT_NULLABLE.accepts(3000000000L));
+        assertFalse(ExpectedValuePlaceholder.ANY_INTEGER_NOT_NULLABLE.accepts(1.5));
+
+        assertTrue(ExpectedValuePlaceholder.ANY_FLOATING_NOT_NULLABLE.accepts(1.5));
+        assertTrue(ExpectedValuePlaceholder.ANY_FLOATING_NOT_NULLABLE.accepts("1.5"));
+        assertFalse(ExpectedValuePlaceholder.ANY_FLOATING_NOT_NULLABLE.accepts("one"));
+
+        assertTrue(ExpectedValuePlaceholder.ANY_NUMBER_NOT_NULLABLE.accepts(12L));
+        assertTrue(ExpectedValuePlaceholder.ANY_NUMBER_NOT_NULLABLE.accepts("12abc"));
+        assertFalse(ExpectedValuePlaceholder.ANY_NUMBER_NOT_NULLABLE.accepts("abc"));
+    }
+
+    @Test
+    public void shouldAcceptNullsOnlyForNullablePlaceholders() {
+        assertTrue(ExpectedValuePlaceholder.ANY_DATE_NULLABLE.accepts(null));
+        assertFalse(ExpectedValuePlaceholder.ANY_DATE_NOT_NULLABLE.accepts(null));
+        assertFalse(ExpectedValuePlaceholder.ANYTHING_PRESENT.accepts(null));
+    }
+
+}
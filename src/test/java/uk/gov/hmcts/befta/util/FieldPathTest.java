@@ -0,0 +1,65 @@
+package uk.gov.hmcts.befta.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class FieldPathTest {
+
+    @Test
+    public void shouldCompileEachPathOnce() {
+        assertSame(FieldPath.of("request.body.list[0]"), FieldPath.of("request.body.list[0]"));
+        assertSame(FieldPath.ofFormula("${[scenarioContext][testData][uri]}"),
+                FieldPath.ofFormula("${[scenarioContext][testData][uri]}"));
+        assertSame(FieldPath.Step.of("list[0]"), FieldPath.Step.of("list[0]"));
+    }
+
+    @Test
+    public void shouldSplitDottedPathsIntoSteps() {
+        FieldPath path = FieldPath.of("request.body.TEST\\.KEY.list[12]");
+
+        assertEquals(4, path.size());
+        assertEquals("request", path.getStep(0).getName());
+        assertEquals(-1, path.getStep(0).getIndex());
+        assertEquals("TEST.KEY", path.getStep(2).getName());
+        assertEquals("list[12]", path.getStep(3).getField());
+        assertEquals("list", path.getStep(3).getName());
+        assertEquals(12, path.getStep(3).getIndex());
+    }
+
+    @Test
+    public void shouldSplitFormulasIntoSteps() {
+        FieldPath path = FieldPath.ofFormula("${[scenarioContext][childContexts][0][testData]}");
+
+        assertEquals(4, path.size());
+        assertEquals("scenarioContext", path.getStep(0).getField());
+        assertEquals("childContexts", path.getStep(1).getField());
+        assertEquals(0, path.getStep(2).getPosition());
+        assertEquals("testData", path.getStep(3).getField());
+    }
+
+    @Test
+    public void shouldFailOnInvalidIndicesOnlyWhenTheyAreUsed() {
+        FieldPath path = FieldPath.of("request.body[first]");
+        assertThrows(NumberFormatException.class, () -> path.getStep(1).getIndex());
+
+        FieldPath formulaPath = FieldPath.ofFormula("${[scenarioContext][testData]}");
+        assertThrows(NumberFormatException.class, () -> formulaPath.getStep(1).getPosition());
+    }
+
+    @Test
+    public void shouldReadIndicesInTheRangeOfAnInt() {
+        FieldPath path = FieldPath.of("list[2147483647].list[-2147483648].list[2147483648]");
+        assertEquals(Integer.MAX_VALUE, path.getStep(0).getIndex());
+        assertEquals(Integer.MIN_VALUE, path.getStep(1).getIndex());
+        assertThrows(NumberFormatException.class, () -> path.getStep(2).getIndex());
+
+        FieldPath formulaPath = FieldPath.ofFormula("${[scenarioContext][-1][+1][1.0]}");
+        assertEquals(-1, formulaPath.getStep(1).getPosition());
+        assertEquals(1, formulaPath.getStep(2).getPosition());
+        assertThrows(NumberFormatException.class, () -> formulaPath.getStep(3).getPosition());
+    }
+
+}
@@ -1,12 +1,17 @@
 package uk.gov.hmcts.befta.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import uk.gov.hmcts.befta.data.HttpTestData;
@@ -91,4 +96,34 @@ public class JsonUtilsTest {
 
         assertEquals(expectedResult, result);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldDeepCopyTreeOfMapsAndLists() throws IOException {
+        final Map<String, Object> original = JsonUtils.readObjectFromJsonText(
+                "{\"key1\":\"value1\",\"nested\":{\"list\":[1,{\"key2\":true}]}}", Map.class);
+
+        final Map<String, Object> copy = (Map<String, Object>) JsonUtils.deepCopyOfTree(original);
+
+        assertEquals(original, copy);
+        assertEquals(JsonUtils.deepCopy(original), copy);
+        assertNotSame(original.get("nested"), copy.get("nested"));
+        ((Map<String, Object>) copy.get("nested")).put("list", null);
+        assertEquals(2, ((List<?>) ((Map<String, Object>) original.get("nested")).get("list")).size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReadObjectFromJsonStream() throws IOException {
+        final String json = "{\"key1\":\"value1\",\"nested\":{\"list\":[1,2.5,{\"key2\":true}]}}";
+
+        final Object result = JsonUtils
+                .readObjectFromJsonStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(JsonUtils.readObjectFromJsonText(json, Map.class), result);
+        assertEquals(2, ((List<Object>) JsonUtils
+                .readObjectFromJsonStream(new ByteArrayInputStream("[1,2]".getBytes(StandardCharsets.UTF_8))))
+                        .size());
+        assertNull(JsonUtils.readObjectFromJsonStream(new ByteArrayInputStream(new byte[0])));
+    }
 }
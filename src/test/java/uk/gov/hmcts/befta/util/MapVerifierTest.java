@@ -31,8 +31,12 @@ import org.junit.jupiter.api.Test;
 
 import com.google.common.collect.Maps;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
@@ -98,6 +102,128 @@ public class MapVerifierTest {
             MapVerificationResult result = new MapVerifier("", 0).verifyMap(expected, expected);
             assertTrue(result.isVerified());
         }
+
+        @Test
+        void shouldRenderIssueMessagesOnlyWhenTheyAreRead() {
+            int[] renderCount = { 0 };
+            Object expectedValue = new Object() {
+                @Override
+                public String toString() {
+                    renderCount[0]++;
+                    return "expected";
+                }
+            };
+            Map<String, Object> expected = new HashMap<>();
+            Map<String, Object> actual = new HashMap<>();
+            expected.put("key", expectedValue);
+            actual.put("key", "actual");
+
+            MapVerificationResult result = new MapVerifier("body").verifyMap(expected, actual);
+
+            assertFalse(result.isVerified());
+            assertEquals(0, renderCount[0]);
+            Assert.assertArrayEquals(
+                    new Object[] { "body contains a bad value: key: expected 'expected' but got 'actual'" },
+                    result.getAllIssues().toArray());
+            assertEquals(1, renderCount[0]);
+            result.getAllIssues();
+            assertEquals(1, renderCount[0]);
+        }
+
+        @Test
+        void shouldThrowExceptionForNegativeParallelThreshold() {
+            assertThrows(IllegalArgumentException.class, () -> new MapVerifier("").setParallelThreshold(-1));
+        }
+
+        @Test
+        void shouldStopVerifyingOnceMaxIssuesAreFound() {
+            Map<String, Object> expected = new LinkedHashMap<>();
+            Map<String, Object> actual = new LinkedHashMap<>();
+            List<Object> expectedCases = new ArrayList<>();
+            List<Object> actualCases = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                expectedCases.add(Collections.singletonMap("id", "" + i));
+                actualCases.add(Collections.singletonMap("id", "x" + i));
+            }
+            expected.put("cases", expectedCases);
+            actual.put("cases", actualCases);
+            actual.put("error", "Not Found");
+
+            MapVerifier verifier = new MapVerifier("body", 20);
+            verifier.setMaxIssues(3);
+            MapVerificationResult result = verifier.verifyMap(expected, actual);
+
+            Assert.assertArrayEquals(new Object[] {
+                    "body: Verification stopped after finding 3 issues, so the map may have more issues than reported.",
+                    "body.error is unexpected.",
+                    "body contains a bad value: cases[0] contains a bad value: id: expected '0' but got 'x0'",
+                    "body contains a bad value: cases[1] contains a bad value: id: expected '1' but got 'x1'" },
+                    result.getAllIssues().toArray());
+            assertEquals(1001, new MapVerifier("body", 20).verifyMap(expected, actual).getAllIssues().size());
+        }
+
+        @Test
+        void shouldReportTheSameIssuesInParallelAsSequentially() {
+            Map<String, Object> expected = new LinkedHashMap<>();
+            Map<String, Object> actual = new LinkedHashMap<>();
+            putCasesWithBadValues(expected, actual);
+
+            MapVerificationResult sequentialResult = new MapVerifier("body", 20).verifyMap(expected, actual);
+            MapVerifier parallelVerifier = new MapVerifier("body", 20);
+            parallelVerifier.setParallelThreshold(10);
+            MapVerificationResult parallelResult = parallelVerifier.verifyMap(expected, actual);
+
+            assertFalse(sequentialResult.isVerified());
+            assertFalse(parallelResult.isVerified());
+            assertEquals(sequentialResult.getAllIssues(), parallelResult.getAllIssues());
+        }
+
+        @Test
+        void shouldStopAfterTheSameIssuesInParallelAsSequentially() {
+            Map<String, Object> expected = new LinkedHashMap<>();
+            Map<String, Object> actual = new LinkedHashMap<>();
+            putCasesWithBadValues(expected, actual);
+
+            MapVerifier sequentialVerifier = new MapVerifier("body", 20);
+            sequentialVerifier.setMaxIssues(25);
+            MapVerificationResult sequentialResult = sequentialVerifier.verifyMap(expected, actual);
+            MapVerifier parallelVerifier = new MapVerifier("body", 20);
+            parallelVerifier.setParallelThreshold(10);
+            parallelVerifier.setMaxIssues(25);
+            for (int run = 0; run < 20; run++) {
+                MapVerificationResult parallelResult = parallelVerifier.verifyMap(expected, actual);
+
+                assertEquals(sequentialResult.getAllIssues(), parallelResult.getAllIssues());
+            }
+            assertEquals(
+                    "body: Verification stopped after finding 25 issues, so the map may have more issues than reported.",
+                    sequentialResult.getAllIssues().get(0));
+        }
+
+        private void putCasesWithBadValues(Map<String, Object> expected, Map<String, Object> actual) {
+            for (String key : new String[] { "cases", "details" }) {
+                List<Object> expectedCases = new ArrayList<>();
+                List<Object> actualCases = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    Map<String, Object> expectedCase = new LinkedHashMap<>();
+                    expectedCase.put("id", "" + i);
+                    expectedCase.put("state", i % 7 == 0 ? "Open" : "[[ANYTHING_PRESENT]]");
+                    expectedCase.put("tags", Arrays.asList("a", "b"));
+                    expectedCases.add(expectedCase);
+                    Map<String, Object> actualCase = new LinkedHashMap<>();
+                    actualCase.put("id", "" + i);
+                    actualCase.put("state", i % 5 == 0 ? null : "Closed");
+                    actualCase.put("tags", Arrays.asList("a", i % 3 == 0 ? "c" : "b"));
+                    actualCases.add(actualCase);
+                }
+                Map<String, Object> expectedSubmap = new LinkedHashMap<>();
+                expectedSubmap.put("list", expectedCases);
+                expected.put(key, expectedSubmap);
+                Map<String, Object> actualSubmap = new LinkedHashMap<>();
+                actualSubmap.put("list", actualCases);
+                actual.put(key, actualSubmap);
+            }
+        }
     }
 
     @Nested
@@ -1027,6 +1153,47 @@ public class MapVerifierTest {
 
             }
 
+            @Test
+            @DisplayName("Should match elements of a large unordered collection by id")
+            public void shouldMatchElementsOfALargeUnorderedCollectionById() {
+                List<Object> expectedElements = new ArrayList<>();
+                List<Object> actualElements = new ArrayList<>();
+                expectedElements.add(Collections.singletonMap("__ordering__", "UNORDERED"));
+                for (int i = 0; i < 1000; i++) {
+                    Map<String, Object> element = new HashMap<>();
+                    element.put("id", "id" + i);
+                    element.put("value", i);
+                    expectedElements.add(element);
+                    actualElements.add(0, new HashMap<>(element));
+                }
+                ((Map<String, Object>) actualElements.get(10)).put("value", -1);
+
+                MapVerificationResult result = new MapVerifier("response.body").verifyMap(
+                        Collections.singletonMap("elements", expectedElements),
+                        Collections.singletonMap("elements", actualElements));
+
+                assertFalse(result.isVerified());
+                Assert.assertArrayEquals(new Object[] { "response.body contains a bad value: elements[id989] contains "
+                        + "a bad value: value: expected '989' but got '-1'" }, result.getAllIssues().toArray());
+            }
+
+            @Test
+            @DisplayName("Should look up primitive elements of an unordered collection")
+            public void shouldLookUpPrimitiveElementsOfAnUnorderedCollection() {
+                List<Object> expectedElements = Arrays.asList(Collections.singletonMap("__ordering__", "UNORDERED"),
+                        "a", 2, "c");
+                List<Object> actualElements = Arrays.asList(2, "c", "b");
+
+                MapVerificationResult result = new MapVerifier("response.body").verifyMap(
+                        Collections.singletonMap("values", expectedElements),
+                        Collections.singletonMap("values", actualElements));
+
+                assertFalse(result.isVerified());
+                Assert.assertArrayEquals(new Object[] { "response.body contains a bad value: "
+                        + "response.body.values.values[0] is expected to be a, but is not available." },
+                        result.getAllIssues().toArray());
+            }
+
         }
 
         @Nested
@@ -158,6 +158,32 @@ public class ReflectionUtilsTest {
           });
     }
 
+    @Test
+    public void shouldRetrieveFieldsThroughStaticAndPrimitiveGetters() throws Exception {
+        GetterVariety object = new GetterVariety();
+
+        assertEquals("static", ReflectionUtils.retrieveFieldInObject(object, "staticValue"));
+        assertEquals(7, ReflectionUtils.retrieveFieldInObject(object, "primitiveValue"));
+        // a second retrieval goes through the getter found by the first
+        assertEquals(7, ReflectionUtils.retrieveFieldInObject(object, "primitiveValue"));
+    }
+
+    @Test
+    public void shouldErrorWhenTheGetterOfAFieldFails() {
+        Assertions.assertThrows(NoSuchFieldException.class, () -> {
+            ReflectionUtils.retrieveFieldInObject(new GetterVariety(), "failingValue");
+          });
+    }
+
+    @Test
+    public void shouldRetrieveKeysInMapRatherThanMapProperties() throws Exception {
+        Map<String, Object> testMap = new HashMap<>();
+        testMap.put("class", "value of the class key");
+
+        assertEquals("value of the class key", ReflectionUtils.retrieveFieldInObject(testMap, "class"));
+        assertNull(ReflectionUtils.retrieveFieldInObject(testMap, "empty"));
+    }
+
     @Test
     public void shouldReturnNullWhenTryingToRetrieveNonExistingKeyInMap() throws Exception {
         Map<String, Object> testMap = new HashMap<>();
@@ -304,4 +330,20 @@ public class ReflectionUtilsTest {
 
         assertTrue(result);
     }
+
+    public static class GetterVariety {
+
+        public static String getStaticValue() {
+            return "static";
+        }
+
+        public int getPrimitiveValue() {
+            return 7;
+        }
+
+        public String getFailingValue() {
+            throw new IllegalStateException("Not available.");
+        }
+    }
+
 }
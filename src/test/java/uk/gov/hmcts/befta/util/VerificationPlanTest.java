@@ -0,0 +1,105 @@
+package uk.gov.hmcts.befta.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import uk.gov.hmcts.befta.data.CollectionVerificationConfig;
+import uk.gov.hmcts.befta.data.CollectionVerificationConfig.Ordering;
+
+public class VerificationPlanTest {
+
+    @Test
+    public void shouldPlanEachMapInstanceOnce() {
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("id", "[[ANY_STRING_NOT_NULLABLE]]");
+
+        assertSame(VerificationPlan.of(expected), VerificationPlan.of(expected));
+        assertNull(VerificationPlan.of(null));
+    }
+
+    @Test
+    public void shouldUsePlannedPlaceholdersOnlyForThePlannedValues() {
+        String planned = "[[ANY_DATE_NULLABLE]]";
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("date", planned);
+
+        VerificationPlan fieldPlan = VerificationPlan.fieldOf(VerificationPlan.of(expected), "date");
+
+        assertSame(ExpectedValuePlaceholder.ANY_DATE_NULLABLE, VerificationPlan.placeholderOf(planned, fieldPlan));
+        assertSame(ExpectedValuePlaceholder.ANY_STRING_NULLABLE,
+                VerificationPlan.placeholderOf("[[ANY_STRING_NULLABLE]]", fieldPlan));
+        assertNull(VerificationPlan.placeholderOf(42, fieldPlan));
+    }
+
+    @Test
+    public void shouldPlanTheConfigsOfCollections() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(CollectionVerificationConfig.ORDERING_FIELD_NAME, "unordered");
+        config.put(CollectionVerificationConfig.ELEMENT_ID_FIELD_NAME, "id");
+        List<Object> list = new ArrayList<>();
+        list.add(config);
+        list.add("first");
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("list", list);
+
+        VerificationPlan listPlan = VerificationPlan.fieldOf(VerificationPlan.of(expected), "list");
+
+        assertEquals(Ordering.UNORDERED, VerificationPlan.collectionConfigOf(listPlan).getOrdering());
+        assertNotNull(VerificationPlan.elementOf(listPlan, 0));
+        assertNull(VerificationPlan.elementOf(listPlan, 1));
+    }
+
+    @Test
+    public void shouldLeaveOutCollectionsWithDynamicConfigs() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(CollectionVerificationConfig.ELEMENT_ID_FIELD_NAME,
+                "${[scenarioContext][customValues][elementId]}");
+        List<Object> list = new ArrayList<>();
+        list.add(config);
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("list", list);
+
+        assertNull(VerificationPlan.fieldOf(VerificationPlan.of(expected), "list"));
+    }
+
+    @Test
+    public void shouldVerifyAsWithoutAPlan() {
+        Map<String, Object> element = new LinkedHashMap<>();
+        element.put("id", "1");
+        element.put("created", "[[ANY_TIMESTAMP_NOT_NULLABLE]]");
+        List<Object> list = new ArrayList<>();
+        list.add(element);
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("name", "[[ANY_STRING_NOT_NULLABLE]]");
+        expected.put("list", list);
+
+        Map<String, Object> actualElement = new LinkedHashMap<>();
+        actualElement.put("id", "2");
+        actualElement.put("created", null);
+        List<Object> actualList = new ArrayList<>();
+        actualList.add(actualElement);
+        Map<String, Object> actual = new LinkedHashMap<>();
+        actual.put("list", actualList);
+
+        MapVerifier verifier = new MapVerifier("actualResponse.body");
+        MapVerificationResult withoutPlan = verifier.verifyMap(expected, actual);
+        MapVerificationResult withPlan = verifier.verifyMap(expected, actual, VerificationPlan.of(expected));
+
+        assertFalse(withPlan.isVerified());
+        assertEquals(withoutPlan.getAllIssues(), withPlan.getAllIssues());
+        assertTrue(verifier.verifyMap(expected, expected, VerificationPlan.of(expected)).isVerified());
+    }
+
+}
@@ -1,21 +1,29 @@
 package uk.gov.hmcts.jsonstore;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnBasicData;
 import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnExtendedData;
 import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnOverriddenData;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.io.File;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 
 import uk.gov.hmcts.befta.data.HttpTestData;
+import uk.gov.hmcts.befta.exception.InvalidTestDataException;
 
 
 public class JsonFileStoreWithInheritanceTest {
@@ -76,6 +84,104 @@ public class JsonFileStoreWithInheritanceTest {
         applyCommonAssertionsOnOverriddenData(data);
     }
 
+    @Test
+    public void shouldReloadChangedFileAndItsDescendantsWhenWatching(@TempDir Path directory) throws Exception {
+        copyInheritanceTestDataTo(directory);
+        fileStore = new JsonFileStoreWithInheritance(directory.toFile());
+        fileStore.startWatching();
+        try {
+            final HttpTestData before = fileStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+            assertEquals("TITLE", before.getTitle());
+
+            File baseFile = directory.resolve(FILE_WITHOUT_INHERITANCE + ".td.json").toFile();
+            String baseContent = new String(Files.readAllBytes(baseFile.toPath()), StandardCharsets.UTF_8);
+            Files.write(baseFile.toPath(),
+                    baseContent.replace("\"TITLE\"", "\"NEW TITLE\"").getBytes(StandardCharsets.UTF_8));
+            fileStore.notifyChanged(baseFile);
+
+            final HttpTestData after = fileStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+            assertNotSame(before, after);
+            assertEquals("NEW TITLE", after.getTitle());
+            assertEquals("NEW TITLE", fileStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class).getTitle());
+        } finally {
+            fileStore.stopWatching();
+        }
+    }
+
+    @Test
+    public void shouldRejectAReloadedFileDuplicatingTheGuidOfAnotherFile(@TempDir Path directory) throws Exception {
+        copyInheritanceTestDataTo(directory);
+        fileStore = new JsonFileStoreWithInheritance(directory.toFile());
+        fileStore.startWatching();
+        try {
+            assertEquals("TITLE", fileStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class).getTitle());
+
+            File duplicateFile = directory.resolve("Duplicate.td.json").toFile();
+            Files.write(duplicateFile.toPath(), ("{ \"_guid_\": \"" + FILE_WITHOUT_INHERITANCE
+                    + "\", \"title\": \"DUPLICATE\" }").getBytes(StandardCharsets.UTF_8));
+            fileStore.notifyChanged(duplicateFile);
+
+            assertThrows(InvalidTestDataException.class,
+                    () -> fileStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class));
+            assertThrows(InvalidTestDataException.class,
+                    () -> fileStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class));
+
+            Files.delete(duplicateFile.toPath());
+            fileStore.notifyChanged(duplicateFile);
+
+            assertEquals("TITLE", fileStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class).getTitle());
+        } finally {
+            fileStore.stopWatching();
+        }
+    }
+
+    @Test
+    public void shouldKeepChangesToAFileWhileAFileInheritingFromItIsMalformed(@TempDir Path directory)
+            throws Exception {
+        copyInheritanceTestDataTo(directory);
+        fileStore = new JsonFileStoreWithInheritance(directory.toFile());
+        fileStore.startWatching();
+        try {
+            assertEquals("TITLE", fileStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class).getTitle());
+
+            File childFile = directory.resolve(FILE_WITH_INHERITANCE + ".td.json").toFile();
+            byte[] childContent = Files.readAllBytes(childFile.toPath());
+            Files.write(childFile.toPath(), "{ \"_guid_\": ".getBytes(StandardCharsets.UTF_8));
+            File baseFile = directory.resolve(FILE_WITHOUT_INHERITANCE + ".td.json").toFile();
+            String baseContent = new String(Files.readAllBytes(baseFile.toPath()), StandardCharsets.UTF_8);
+            Files.write(baseFile.toPath(),
+                    baseContent.replace("\"TITLE\"", "\"NEW TITLE\"").getBytes(StandardCharsets.UTF_8));
+            fileStore.notifyChanged(baseFile);
+
+            assertEquals("TITLE", fileStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class).getTitle());
+            assertEquals("TITLE", fileStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class).getTitle());
+
+            Files.write(childFile.toPath(), childContent);
+
+            assertEquals("NEW TITLE", fileStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class)
+                    .getTitle());
+            assertEquals("NEW TITLE", fileStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class).getTitle());
+        } finally {
+            fileStore.stopWatching();
+        }
+    }
+
+    @Test
+    public void shouldFailWithTheParserExceptionForAMalformedFileInASubdirectory(@TempDir Path directory)
+            throws Exception {
+        Path subdirectory = Files.createDirectory(directory.resolve("subdirectory"));
+        Files.write(subdirectory.resolve("Malformed.td.json"), "{ \"_guid_\": ".getBytes(StandardCharsets.UTF_8));
+        fileStore = new JsonFileStoreWithInheritance(directory.toFile());
+
+        assertThrows(JsonParseException.class, () -> fileStore.buildObjectStore());
+    }
+
+    private void copyInheritanceTestDataTo(Path directory) throws Exception {
+        for (File file : getFileFromResource(INHERITANCE_TEST_DATA_RESOURCE_FOLDER).listFiles()) {
+            Files.copy(file.toPath(), directory.resolve(file.getName()));
+        }
+    }
+
     private File getFileFromResource(String location) {
         URL url = ClassLoader.getSystemResource(location);
         return new File(url.getFile());
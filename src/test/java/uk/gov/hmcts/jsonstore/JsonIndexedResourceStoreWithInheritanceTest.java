@@ -0,0 +1,93 @@
+package uk.gov.hmcts.jsonstore;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnBasicData;
+import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnExtendedData;
+import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnOverriddenData;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import uk.gov.hmcts.befta.data.HttpTestData;
+import uk.gov.hmcts.befta.exception.InvalidTestDataException;
+import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance.InheritanceResolution;
+
+public class JsonIndexedResourceStoreWithInheritanceTest {
+
+    private JsonIndexedResourceStoreWithInheritance indexedStore;
+
+    private static final String[] INHERITANCE_TEST_DATA_RESOURCES = {
+            "framework-test-data/inheritance-test-data/Simple-Data-Without-Inheritance.td.json",
+            "framework-test-data/inheritance-test-data/Simple-Data-With-Inheritance.td.json",
+            "framework-test-data/inheritance-test-data/Simple-Data-With-Overrides.td.json",
+    };
+
+    private static final String FILE_WITHOUT_INHERITANCE = "Simple-Data-Without-Inheritance";
+    private static final String FILE_WITH_INHERITANCE = "Simple-Data-With-Inheritance";
+    private static final String FILE_WITH_OVERRIDES = "Simple-Data-With-Overrides";
+
+    @Test
+    public void shouldGetObjectWithIdForBasicDataSuccessfully() throws Exception {
+        indexedStore = new JsonIndexedResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+
+        final HttpTestData data = indexedStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class);
+
+        applyCommonAssertionsOnBasicData(data);
+    }
+
+    @Test
+    public void shouldGetObjectWithIdForInheritedDataSuccessfully() throws Exception {
+        indexedStore = new JsonIndexedResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+
+        final HttpTestData data = indexedStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+
+        applyCommonAssertionsOnExtendedData(data);
+    }
+
+    @Test
+    public void shouldGetObjectWithIdForOverriddenDataSuccessfully() throws Exception {
+        indexedStore = new JsonIndexedResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+
+        final HttpTestData data = indexedStore.getObjectWithId(FILE_WITH_OVERRIDES, HttpTestData.class);
+
+        applyCommonAssertionsOnOverriddenData(data);
+    }
+
+    @Test
+    public void shouldReturnTheSameObjectForRepeatedLookupsOfAnId() throws Exception {
+        indexedStore = new JsonIndexedResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+
+        final HttpTestData first = indexedStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+        final HttpTestData second = indexedStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void shouldReturnNullForAnUnknownId() throws Exception {
+        indexedStore = new JsonIndexedResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+
+        assertNull(indexedStore.getObjectWithId("Non-Existing-Id", HttpTestData.class));
+    }
+
+    @Test
+    public void shouldFailForDuplicateIdsInResources() {
+        indexedStore = new JsonIndexedResourceStoreWithInheritance(new String[] {
+                INHERITANCE_TEST_DATA_RESOURCES[0], INHERITANCE_TEST_DATA_RESOURCES[0] });
+
+        InvalidTestDataException thrown = Assertions.assertThrows(InvalidTestDataException.class,
+                () -> indexedStore.getObjectWithId(FILE_WITHOUT_INHERITANCE, HttpTestData.class));
+        assertTrue(thrown.getMessage().contains(FILE_WITHOUT_INHERITANCE));
+    }
+
+    @Test
+    public void shouldNotAllowEagerInheritanceResolution() {
+        indexedStore = new JsonIndexedResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+
+        Assertions.assertThrows(UnsupportedOperationException.class,
+                () -> indexedStore.setInheritanceResolution(InheritanceResolution.EAGER));
+    }
+
+}
@@ -1,6 +1,9 @@
 package uk.gov.hmcts.jsonstore;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnBasicData;
 import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnExtendedData;
 import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnOverriddenData;
@@ -8,11 +11,24 @@ import static uk.gov.hmcts.common.CommonAssertions.applyCommonAssertionsOnOverri
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import uk.gov.hmcts.befta.data.HttpTestData;
+import uk.gov.hmcts.jsonstore.JsonStoreWithInheritance.InheritanceResolution;
 
 public class JsonResourceStoreWithInheritanceTest {
 
+    private static final ObjectMapper SNAPSHOT_MAPPER = new ObjectMapper(new SmileFactory());
+
     private JsonResourceStoreWithInheritance resourceStore;
 
     private static final String[] DIRECTORIES_TEST_DATA_RESOURCES = {
@@ -72,4 +88,110 @@ public class JsonResourceStoreWithInheritanceTest {
 
         applyCommonAssertionsOnOverriddenData(data);
     }
+
+    @Test
+    public void shouldReturnTheSameObjectForRepeatedLookupsOfAnId() throws Exception {
+        resourceStore = new JsonResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+
+        final HttpTestData first = resourceStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+        final HttpTestData second = resourceStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void shouldReturnTheSameObjectForConcurrentLookupsOfAnId() throws Exception {
+        for (InheritanceResolution inheritanceResolution : InheritanceResolution.values()) {
+            resourceStore = new JsonResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+            resourceStore.setInheritanceResolution(inheritanceResolution);
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<HttpTestData>> lookups = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    lookups.add(executor.submit(
+                            () -> resourceStore.getObjectWithId(FILE_WITH_OVERRIDES, HttpTestData.class)));
+                }
+                final HttpTestData first = lookups.get(0).get();
+                applyCommonAssertionsOnOverriddenData(first);
+                for (Future<HttpTestData> lookup : lookups)
+                    assertSame(first, lookup.get());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnNullForAnUnknownId() throws Exception {
+        resourceStore = new JsonResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+
+        assertNull(resourceStore.getObjectWithId("Non-Existing-Id", HttpTestData.class));
+    }
+
+    @Test
+    public void shouldGetObjectWithIdForInheritedDataOnDemandSuccessfully() throws Exception {
+        resourceStore = new JsonResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+        resourceStore.setInheritanceResolution(InheritanceResolution.ON_DEMAND);
+
+        final HttpTestData data = resourceStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+
+        applyCommonAssertionsOnExtendedData(data);
+    }
+
+    @Test
+    public void shouldGetObjectWithIdForOverriddenDataOnDemandSuccessfully() throws Exception {
+        resourceStore = new JsonResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+        resourceStore.setInheritanceResolution(InheritanceResolution.ON_DEMAND);
+
+        final HttpTestData data = resourceStore.getObjectWithId(FILE_WITH_OVERRIDES, HttpTestData.class);
+
+        applyCommonAssertionsOnOverriddenData(data);
+    }
+
+    @Test
+    public void shouldGetObjectWithIdFromSnapshotSuccessfully() throws Exception {
+        File snapshotFile = createSnapshotFile();
+        ObjectNode snapshot = (ObjectNode) SNAPSHOT_MAPPER.readTree(snapshotFile);
+        ((ObjectNode) snapshot.get("library").get(FILE_WITH_INHERITANCE)).put("title", "TITLE FROM SNAPSHOT");
+        SNAPSHOT_MAPPER.writeValue(snapshotFile, snapshot);
+
+        resourceStore = new JsonResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+        resourceStore.setSnapshotFile(snapshotFile);
+
+        assertEquals("TITLE FROM SNAPSHOT",
+                resourceStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class).getTitle());
+        applyCommonAssertionsOnOverriddenData(resourceStore.getObjectWithId(FILE_WITH_OVERRIDES, HttpTestData.class));
+    }
+
+    @Test
+    public void shouldIgnoreSnapshotOfOtherContent() throws Exception {
+        File snapshotFile = createSnapshotFile();
+        ObjectNode snapshot = (ObjectNode) SNAPSHOT_MAPPER.readTree(snapshotFile);
+        String contentHash = snapshot.get("contentHash").asText();
+        snapshot.put("contentHash", "hash of other content");
+        ((ObjectNode) snapshot.get("library").get(FILE_WITH_INHERITANCE)).put("title", "TITLE FROM SNAPSHOT");
+        SNAPSHOT_MAPPER.writeValue(snapshotFile, snapshot);
+
+        resourceStore = new JsonResourceStoreWithInheritance(INHERITANCE_TEST_DATA_RESOURCES);
+        resourceStore.setSnapshotFile(snapshotFile);
+
+        final HttpTestData data = resourceStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+        assertEquals("TITLE", data.getTitle());
+        applyCommonAssertionsOnExtendedData(data);
+        assertEquals(contentHash, SNAPSHOT_MAPPER.readTree(snapshotFile).get("contentHash").asText());
+    }
+
+    private File createSnapshotFile() throws Exception {
+        File snapshotFile = File.createTempFile("befta-test-data", ".smile");
+        snapshotFile.delete();
+        snapshotFile.deleteOnExit();
+
+        JsonResourceStoreWithInheritance snapshottingStore = new JsonResourceStoreWithInheritance(
+                INHERITANCE_TEST_DATA_RESOURCES);
+        snapshottingStore.setSnapshotFile(snapshotFile);
+        snapshottingStore.getObjectWithId(FILE_WITH_INHERITANCE, HttpTestData.class);
+        assertTrue(snapshotFile.isFile());
+        return snapshotFile;
+    }
 }